@@ -0,0 +1,83 @@
+package shop.ljhun.loadtest.driver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+// jdbc:delay:<ms>:<실제 JDBC URL> 형식의 URL을 받아 실제 드라이버로 연결하고,
+// Statement.execute* 호출마다 <ms>만큼 sleep 해서 느린 DB(예: VPN 너머 failover 대상)를 흉내냄
+public class DelayingDriver implements Driver {
+
+    private static final String PREFIX = "jdbc:delay:";
+
+    static {
+        try {
+            DriverManager.registerDriver(new DelayingDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        int colon = url.indexOf(':', PREFIX.length());
+        long delayMs = Long.parseLong(url.substring(PREFIX.length(), colon));
+        Connection target = DriverManager.getConnection(url.substring(colon + 1), info);
+        return wrap(Connection.class, target, delayMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, long delayMs) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                Object result = method.invoke(target, args);
+                if (result instanceof Statement statement && method.getName().startsWith("prepare")) {
+                    return wrap((Class<Statement>) method.getReturnType(), statement, delayMs);
+                }
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(delayMs);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(DelayingDriver.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
@@ -0,0 +1,50 @@
+package shop.ljhun.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Closed-loop 부하: 클라이언트 N개가 각자 "요청 -> 응답 대기 -> 다음 요청"을 반복
+public class ClosedLoopLoad {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    // requestFactory: 워커별 요청 번호 -> 요청, expectedStatus 이외의 응답은 error로 집계
+    public LatencyRecorder.Result run(int clients, Duration duration, IntFunction<HttpRequest> requestFactory,
+                                      int... expectedStatus) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(expectedStatus);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < clients; w++) {
+            int worker = w;
+            Thread thread = new Thread(() -> {
+                int sequence = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requestFactory.apply(worker * 1_000_000 + sequence++);
+                    long sent = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        recorder.record(System.nanoTime() - sent, status);
+                    } catch (Exception e) {
+                        recorder.error();
+                    }
+                }
+            }, "load-" + w);
+            thread.start();
+            workers.add(thread);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return recorder.result(System.nanoTime() - start);
+    }
+}
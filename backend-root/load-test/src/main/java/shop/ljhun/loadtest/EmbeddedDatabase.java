@@ -0,0 +1,72 @@
+package shop.ljhun.loadtest;
+
+import org.h2.tools.Server;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 부하 테스트용 MySQL 호환 DB: 하네스 프로세스 안에서 H2(MySQL 모드)를 TCP 서버로 띄우고,
+// 서비스 프로세스는 실제 MySQL에 붙듯이 TCP로 접속함
+public class EmbeddedDatabase implements AutoCloseable {
+
+    // 부하 테스트에서는 bcrypt CPU 비용이 DB 대기 시간을 가리지 않도록 최소 cost 사용
+    public static final int PASSWORD_HASH_COST = 4;
+
+    private static final String DB_NAME = "userdb";
+
+    private final Server server;
+    private final Connection keepAlive;
+
+    public EmbeddedDatabase() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        keepAlive = DriverManager.getConnection(localUrl());
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS users ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "username VARCHAR(50) NOT NULL, "
+                    + "password VARCHAR(100) NOT NULL, "
+                    + "email VARCHAR(100) NOT NULL, "
+                    + "UNIQUE KEY uk_users_username (username))");
+            // 서비스 db/migration V2와 같은 로그인 조회용 인덱스
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_username_password ON users (username, password)");
+        }
+    }
+
+    // 서비스 프로세스의 DB_JDBC_URL 값 (dbLatencyMs > 0 이면 DelayingDriver로 감쌈)
+    public String serviceUrl(long dbLatencyMs) {
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:" + DB_NAME + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        return dbLatencyMs > 0 ? "jdbc:delay:" + dbLatencyMs + ":" + url : url;
+    }
+
+    // user0 ~ user{count-1}, 비밀번호는 "Passw0rd!" + 번호
+    public void seedUsers(int count) throws SQLException {
+        try (PreparedStatement stmt = keepAlive.prepareStatement(
+                "INSERT INTO users (username, password, email) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                stmt.setString(1, "user" + i);
+                stmt.setString(2, BCrypt.hashpw(password(i), BCrypt.gensalt(PASSWORD_HASH_COST)));
+                stmt.setString(3, "user" + i + "@example.com");
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    public static String password(int index) {
+        return "Passw0rd!" + index;
+    }
+
+    private String localUrl() {
+        return "jdbc:h2:mem:" + DB_NAME + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    @Override
+    public void close() throws SQLException {
+        keepAlive.close();
+        server.stop();
+    }
+}
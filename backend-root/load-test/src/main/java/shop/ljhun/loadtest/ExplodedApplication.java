@@ -0,0 +1,110 @@
+package shop.ljhun.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+// bootJar를 Dockerfile과 같은 방식으로 펼침: BOOT-INF/classes -> application.jar, BOOT-INF/lib -> lib/
+// (CDS 아카이브는 중첩 jar나 비어 있지 않은 디렉터리 클래스패스에서는 만들어지지 않으므로 일반 jar 클래스패스로 실행)
+final class ExplodedApplication {
+
+    private static final String CLASSES = "BOOT-INF/classes/";
+    private static final String CLASSPATH_INDEX = "BOOT-INF/classpath.idx";
+
+    private final Path directory;
+    private final String mainClass;
+    private final String classpath;
+
+    private ExplodedApplication(Path directory, String mainClass, String classpath) {
+        this.directory = directory;
+        this.mainClass = mainClass;
+        this.classpath = classpath;
+    }
+
+    static ExplodedApplication extract(Path bootJar, Path directory) throws IOException {
+        Path lib = Files.createDirectories(directory.resolve("lib"));
+        Path applicationJar = directory.resolve("application.jar");
+        List<String> entries = new ArrayList<>(List.of(applicationJar.toString()));
+
+        try (JarFile jar = new JarFile(bootJar.toFile());
+             JarOutputStream out = new JarOutputStream(Files.newOutputStream(applicationJar))) {
+            String mainClass = jar.getManifest().getMainAttributes().getValue("Start-Class");
+
+            for (JarEntry entry : jar.stream().toList()) {
+                if (!entry.getName().startsWith(CLASSES) || entry.getName().equals(CLASSES)) {
+                    continue;
+                }
+                out.putNextEntry(new JarEntry(entry.getName().substring(CLASSES.length())));
+                try (InputStream in = jar.getInputStream(entry)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+
+            // 의존성 순서는 bootJar와 같게 classpath.idx 순서로
+            String index = new String(jar.getInputStream(jar.getJarEntry(CLASSPATH_INDEX)).readAllBytes(), StandardCharsets.UTF_8);
+            for (String line : index.split("\n")) {
+                if (!line.startsWith("- \"")) {
+                    continue;
+                }
+                String name = line.substring(3, line.lastIndexOf('"'));
+                Path target = lib.resolve(name.substring(name.lastIndexOf('/') + 1));
+                try (InputStream in = jar.getInputStream(jar.getJarEntry(name))) {
+                    Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                entries.add(target.toString());
+            }
+            return new ExplodedApplication(directory, mainClass, String.join(File.pathSeparator, entries));
+        }
+    }
+
+    Path archive() {
+        return directory.resolve("application.jsa");
+    }
+
+    List<String> command(List<String> jvmOptions) {
+        return command(jvmOptions, "");
+    }
+
+    // extraClasspath는 뒤에 덧붙임: CDS 아카이브는 학습 때 클래스패스가 앞부분과 같으면 그대로 쓰임
+    List<String> command(List<String> jvmOptions, String extraClasspath) {
+        List<String> command = new ArrayList<>();
+        command.add(ServiceProcess.java());
+        command.addAll(jvmOptions);
+        String fullClasspath = extraClasspath.isEmpty() ? classpath : classpath + File.pathSeparator + extraClasspath;
+        command.addAll(List.of("-cp", fullClasspath, mainClass));
+        return command;
+    }
+
+    // Dockerfile의 학습 실행과 같음: 컨텍스트 refresh 직후 종료하면서 그때까지 로드된 클래스를 아카이브로 저장
+    void trainArchive(Map<String, String> env, Path log) throws IOException, InterruptedException {
+        Files.deleteIfExists(archive());
+        ProcessBuilder builder = new ProcessBuilder(command(List.of(
+                "-XX:ArchiveClassesAtExit=" + archive(),
+                "-Dspring.aot.enabled=true",
+                "-Dspring.context.exit=onRefresh")));
+        builder.environment().putAll(env);
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(log.toFile());
+        Process process = builder.start();
+        if (!process.waitFor(Duration.ofMinutes(2).toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("CDS training run did not finish, see " + log);
+        }
+        if (!Files.exists(archive())) {
+            throw new IllegalStateException("CDS archive was not written, see " + log);
+        }
+    }
+}
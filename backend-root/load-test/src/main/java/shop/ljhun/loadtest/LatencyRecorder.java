@@ -0,0 +1,77 @@
+package shop.ljhun.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 응답 지연시간을 HdrHistogram Recorder에 기록 (여러 스레드가 동시에 기록해도 wait-free)
+// 기대하지 않은 상태 코드와 예외는 error, open-loop에서 동시 요청 상한에 걸려 못 보낸 요청은 dropped로 집계
+public class LatencyRecorder {
+
+    // 1µs ~ 1분, 유효숫자 3자리
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final int[] expectedStatus;
+
+    public LatencyRecorder(int... expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    public void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(Math.max(latencyNanos, 1), HIGHEST_TRACKABLE_NANOS));
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (!isExpected(status)) {
+            errors.increment();
+        }
+    }
+
+    public void error() {
+        errors.increment();
+    }
+
+    public void dropped() {
+        dropped.increment();
+    }
+
+    public Result result(long elapsedNanos) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+        long total = histogram.getTotalCount();
+        return new Result(total, errors.sum(), dropped.sum(), total / (elapsedNanos / 1e9),
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1e6, statuses);
+    }
+
+    private boolean isExpected(int status) {
+        for (int expected : expectedStatus) {
+            if (expected == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    public record Result(long requests, long errors, long dropped, double throughput,
+                         double p50Ms, double p99Ms, double p999Ms, double maxMs, Map<Integer, Long> statuses) {
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d dropped=%d throughput=%.1f/s p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms statuses=%s",
+                    requests, errors, dropped, throughput, p50Ms, p99Ms, p999Ms, maxMs, statuses);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package shop.ljhun.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 두 서비스를 embedded DB(H2 MySQL 모드)에 붙여 띄우고 시나리오별로 closed-loop / open-loop 부하를 걸어
+// 처리량과 p50/p99/p99.9 지연시간을 build/reports/loadtest/load-test.json 에 남김
+public class LoadTest {
+
+    private static final int SEEDED_USERS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        Path loginJar = Path.of(System.getProperty("loadtest.loginJar"));
+        Path registrationJar = Path.of(System.getProperty("loadtest.registrationJar"));
+        String serviceClasspath = System.getProperty("loadtest.serviceClasspath");
+        List<String> scenarios = List.of(System.getProperty("loadtest.scenarios", "signup,login,health").split(","));
+        String mode = System.getProperty("loadtest.mode", "both");
+        int clients = Integer.getInteger("loadtest.clients", 64);
+        int rate = Integer.getInteger("loadtest.rate", 500);
+        int maxInFlight = Integer.getInteger("loadtest.maxInFlight", 2_000);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30));
+        long dbLatencyMs = Long.getLong("loadtest.dbLatencyMs", 0);
+        double duplicateRatio = Double.parseDouble(System.getProperty("loadtest.duplicateRatio", "0.2"));
+        double invalidRatio = Double.parseDouble(System.getProperty("loadtest.invalidRatio", "0.3"));
+        Path reportDir = Files.createDirectories(Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest")));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mode", mode);
+        report.put("clients", clients);
+        report.put("rate", rate);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("dbLatencyMs", dbLatencyMs);
+        report.put("duplicateRatio", duplicateRatio);
+        report.put("invalidRatio", invalidRatio);
+
+        try (EmbeddedDatabase database = new EmbeddedDatabase()) {
+            database.seedUsers(SEEDED_USERS);
+            Map<String, String> env = LoadTestEnvironment.serviceEnv(database.serviceUrl(dbLatencyMs));
+
+            try (ServiceProcess login = new ServiceProcess(loginJar, serviceClasspath, env, reportDir.resolve("login.log"))
+                         .awaitHealthy(Duration.ofSeconds(60));
+                 ServiceProcess registration = new ServiceProcess(registrationJar, serviceClasspath, env, reportDir.resolve("registration.log"))
+                         .awaitHealthy(Duration.ofSeconds(60))) {
+
+                ClosedLoopLoad closedLoop = new ClosedLoopLoad();
+                OpenLoopLoad openLoop = new OpenLoopLoad();
+                try {
+                    for (String scenario : scenarios) {
+                        Map<String, Object> results = new LinkedHashMap<>();
+                        if (!mode.equals("open")) {
+                            TrafficMix mix = mix(scenario.trim(), "closed", login, registration, duplicateRatio, invalidRatio);
+                            LatencyRecorder.Result result = closedLoop.run(clients, duration, mix.requestFactory(), mix.expectedStatus());
+                            System.out.printf("[%s/closed] %s%n", mix.name(), result);
+                            results.put("closed", result);
+                        }
+                        if (!mode.equals("closed")) {
+                            TrafficMix mix = mix(scenario.trim(), "open", login, registration, duplicateRatio, invalidRatio);
+                            LatencyRecorder.Result result = openLoop.run(rate, maxInFlight, duration, mix.requestFactory(), mix.expectedStatus());
+                            System.out.printf("[%s/open] %s%n", mix.name(), result);
+                            results.put("open", result);
+                        }
+                        report.put(scenario.trim(), results);
+                    }
+                } finally {
+                    openLoop.shutdown();
+                }
+            }
+        }
+
+        Path output = reportDir.resolve("load-test.json");
+        Files.writeString(output, Json.write(report));
+        System.out.println("Report written to " + output);
+    }
+
+    // runId: closed/open 실행이 서로의 "새 username"과 겹치지 않도록 구분
+    private static TrafficMix mix(String scenario, String runId, ServiceProcess login, ServiceProcess registration,
+                                  double duplicateRatio, double invalidRatio) {
+        return switch (scenario) {
+            case "signup" -> TrafficMix.signupBurst(registration, runId, SEEDED_USERS, duplicateRatio);
+            case "login" -> TrafficMix.loginStorm(login, SEEDED_USERS, invalidRatio);
+            case "health" -> TrafficMix.healthFlood(login, registration);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package shop.ljhun.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 부하 테스트 중 서비스 프로세스에 공통으로 넘기는 환경변수
+final class LoadTestEnvironment {
+
+    private LoadTestEnvironment() {
+    }
+
+    static Map<String, String> serviceEnv(String jdbcUrl) {
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("DB_JDBC_URL", jdbcUrl);
+        env.put("DB_USER", "sa");
+        env.put("DB_PASSWORD", "");
+        env.put("DB_POOL_MAX_SIZE", "20");
+        env.put("DB_POOL_CONNECTION_TIMEOUT_MS", "10000");
+        env.put("PASSWORD_HASH_COST", String.valueOf(EmbeddedDatabase.PASSWORD_HASH_COST));
+        env.put("AUTH_TOKEN_KEYS", "loadtest:bG9hZC10ZXN0LXNpZ25pbmcta2V5LTMyLWJ5dGVzISE=");
+        // 하네스는 IP 하나에서 모든 요청을 보내므로 로그인 시도 제한은 사실상 해제
+        env.put("LOGIN_RATE_IP_CAPACITY", "100000000");
+        env.put("LOGIN_RATE_IP_PER_MINUTE", "100000000");
+        env.put("LOGIN_RATE_USER_CAPACITY", "100000000");
+        env.put("LOGIN_RATE_USER_PER_MINUTE", "100000000");
+        return env;
+    }
+}
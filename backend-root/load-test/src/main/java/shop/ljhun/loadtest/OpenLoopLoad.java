@@ -0,0 +1,68 @@
+package shop.ljhun.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+// Open-loop 부하: 응답 여부와 관계없이 정해진 간격(초당 ratePerSecond)으로 요청을 보냄
+// 지연시간은 실제 전송 시각이 아니라 "보냈어야 하는 시각"부터 재서 서버가 밀릴 때의 대기(coordinated omission)까지 포함
+public class OpenLoopLoad {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .executor(executor)
+            .build();
+
+    // maxInFlight: 동시에 응답을 기다리는 요청 상한 (넘으면 보내지 않고 dropped로 집계)
+    public LatencyRecorder.Result run(int ratePerSecond, int maxInFlight, Duration duration,
+                                      IntFunction<HttpRequest> requestFactory, int... expectedStatus) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(expectedStatus);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        for (int sequence = 0; ; sequence++) {
+            long intended = start + sequence * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                recorder.dropped();
+                continue;
+            }
+            client.sendAsync(requestFactory.apply(sequence), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            recorder.error();
+                        } else {
+                            recorder.record(System.nanoTime() - intended, response.statusCode());
+                        }
+                        inFlight.release();
+                    });
+        }
+
+        // 마지막으로 보낸 요청들의 응답까지 기다린 뒤 집계
+        if (!inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            System.err.println("Open-loop run ended with requests still in flight");
+        }
+        return recorder.result(System.nanoTime() - start);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
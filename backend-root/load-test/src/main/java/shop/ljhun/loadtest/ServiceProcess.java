@@ -0,0 +1,134 @@
+package shop.ljhun.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// 서비스 bootJar를 별도 JVM 프로세스로 띄우고 /healthz가 응답할 때까지 기다림
+// (StartupBenchmark는 이어서 첫 로그인/가입 요청이 성공할 때까지도 기다림)
+public class ServiceProcess implements AutoCloseable {
+
+    private final Process process;
+    private final int port;
+    private final long startedAt;
+    private long readyAfterMillis = -1;
+    private long firstSuccessAfterMillis = -1;
+
+    public ServiceProcess(Path bootJar, String extraClasspath, Map<String, String> env, Path log) throws IOException {
+        // DelayingDriver, H2 드라이버를 서비스 클래스패스에 추가하기 위해 -jar 대신 JarLauncher를 직접 실행
+        this(List.of(java(), "-cp", bootJar + File.pathSeparator + extraClasspath,
+                "org.springframework.boot.loader.launch.JarLauncher"), env, log);
+    }
+
+    // 임의의 명령(펼친 클래스패스 + JVM 옵션, native 실행 파일 등)으로 기동
+    public ServiceProcess(List<String> command, Map<String, String> env, Path log) throws IOException {
+        this.port = freePort();
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.environment().putAll(env);
+        builder.environment().put("SERVER_PORT", String.valueOf(port));
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(log.toFile());
+
+        this.startedAt = System.nanoTime();
+        this.process = builder.start();
+    }
+
+    public ServiceProcess awaitHealthy(Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri("/healthz")).timeout(Duration.ofSeconds(1)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    readyAfterMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+                    return this;
+                }
+            } catch (IOException e) {
+                // 아직 기동 중
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Service did not become healthy within " + timeout);
+    }
+
+    // 시도마다 request.apply(시도 번호)로 요청을 만들어 2xx가 올 때까지 반복 (가입처럼 같은 요청을 다시 보내면 409가 되는 경우 대비)
+    // lazy 초기화라면 요청 경로의 Bean이 이때 만들어지므로 /healthz 이후의 이 시간이 실제 첫 요청이 겪는 기동 비용
+    public ServiceProcess awaitFirstSuccess(IntFunction<HttpRequest> request, Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int lastStatus = -1;
+        for (int attempt = 0; System.nanoTime() < deadline; attempt++) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue());
+            }
+            try {
+                lastStatus = client.send(request.apply(attempt), HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (lastStatus / 100 == 2) {
+                    firstSuccessAfterMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+                    return this;
+                }
+            } catch (IOException e) {
+                // 연결 실패는 재시도
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("No successful request within " + timeout + " (last status " + lastStatus + ")");
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    public long readyAfterMillis() {
+        return readyAfterMillis;
+    }
+
+    public long firstSuccessAfterMillis() {
+        return firstSuccessAfterMillis;
+    }
+
+    // 프로세스 상주 메모리(VmRSS, KB), /proc이 없는 OS에서는 -1
+    public long residentKilobytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 측정 불가
+        }
+        return -1;
+    }
+
+    static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, java.util.concurrent.TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
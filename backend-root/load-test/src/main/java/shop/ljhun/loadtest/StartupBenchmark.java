@@ -0,0 +1,165 @@
+package shop.ljhun.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// 기동 모드별로 서비스를 여러 번 띄워 첫 /healthz 200까지 걸린 시간, 그 시점의 상주 메모리(RSS),
+// 이어서 첫 로그인(login) / 가입(registration) 요청이 성공할 때까지 걸린 시간을 비교
+// - jar          : 중첩 jar 그대로 JarLauncher로 실행 (java -jar와 같음, H2 드라이버를 붙이려고 -cp 사용)
+// - exploded     : 펼친 클래스패스 (FAST_START=false 인 이미지와 같음)
+// - cds          : + CDS 아카이브
+// - cds-aot      : + Spring AOT 초기화 코드 (FAST_START=true 인 이미지와 같음)
+// - cds-aot-lazy : + lazy 초기화 (LAZY_INIT=true)
+// - native       : ./gradlew nativeCompile 결과물이 있을 때만
+// lazy 초기화는 요청 경로 Bean 생성을 첫 요청으로 미루므로 /healthz 시간만으로는 이득이 과장됨 → 첫 요청 성공 시간을 함께 기록
+// JVM 모드는 embedded DB(H2 MySQL 모드)에 붙임
+// native 이미지에는 MySQL 드라이버만 들어 있으므로 닫힌 포트를 가리키고 /healthz까지만 측정 (firstRequest = -1)
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Path> bootJars = new LinkedHashMap<>();
+        bootJars.put("login", Path.of(System.getProperty("loadtest.loginJar")));
+        bootJars.put("registration", Path.of(System.getProperty("loadtest.registrationJar")));
+        Map<String, Path> nativeBinaries = Map.of(
+                "login", Path.of(System.getProperty("loadtest.loginNative")),
+                "registration", Path.of(System.getProperty("loadtest.registrationNative")));
+        List<String> modes = Arrays.stream(System.getProperty("loadtest.modes", "jar,exploded,cds,cds-aot,cds-aot-lazy,native").split(","))
+                .map(String::trim)
+                .toList();
+        String serviceClasspath = System.getProperty("loadtest.serviceClasspath");
+        int runs = Integer.getInteger("loadtest.runs", 5);
+        Path workDir = Files.createDirectories(Path.of(System.getProperty("loadtest.workDir", "build/startup")));
+        Path reportDir = Files.createDirectories(Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest")));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        report.put("javaVersion", System.getProperty("java.version"));
+
+        try (EmbeddedDatabase database = new EmbeddedDatabase()) {
+            database.seedUsers(1);
+            Map<String, String> env = startupEnv(database.serviceUrl(0));
+            // CDS 학습 실행과 native 모드는 H2 드라이버 없이 기동하므로 닫힌 포트의 MySQL URL 사용
+            Map<String, String> offlineEnv = startupEnv("jdbc:mysql://127.0.0.1:" + closedPort() + "/userdb");
+
+            for (Map.Entry<String, Path> service : bootJars.entrySet()) {
+                String name = service.getKey();
+                ExplodedApplication exploded = ExplodedApplication.extract(service.getValue(), workDir.resolve(name));
+                if (modes.stream().anyMatch(mode -> mode.startsWith("cds"))) {
+                    exploded.trainArchive(offlineEnv, reportDir.resolve("startup-" + name + "-cds-training.log"));
+                }
+
+                Map<String, Object> results = new LinkedHashMap<>();
+                for (String mode : modes) {
+                    boolean nativeMode = mode.equals("native");
+                    if (nativeMode && !Files.isExecutable(nativeBinaries.get(name))) {
+                        System.out.printf("[%s/native] skipped, %s not found (./gradlew nativeCompile on GraalVM)%n", name, nativeBinaries.get(name));
+                        continue;
+                    }
+                    List<Long> readyMillis = new ArrayList<>();
+                    List<Long> rssKilobytes = new ArrayList<>();
+                    List<Long> firstRequestMillis = new ArrayList<>();
+                    for (int run = 0; run < runs; run++) {
+                        Map<String, String> runEnv = new LinkedHashMap<>(nativeMode ? offlineEnv : env);
+                        runEnv.put("LAZY_INIT", String.valueOf(mode.endsWith("-lazy")));
+                        Path log = reportDir.resolve("startup-" + name + "-" + mode + ".log");
+                        List<String> command = command(mode, service.getValue(), exploded, nativeBinaries.get(name), serviceClasspath);
+                        try (ServiceProcess process = new ServiceProcess(command, runEnv, log).awaitHealthy(STARTUP_TIMEOUT)) {
+                            readyMillis.add(process.readyAfterMillis());
+                            rssKilobytes.add(process.residentKilobytes());
+                            if (!nativeMode) {
+                                process.awaitFirstSuccess(firstRequest(name, process, mode + "-" + run), STARTUP_TIMEOUT);
+                                firstRequestMillis.add(process.firstSuccessAfterMillis());
+                            }
+                        }
+                    }
+                    Result result = Result.of(readyMillis, rssKilobytes, firstRequestMillis);
+                    System.out.printf("[%s/%s] %s%n", name, mode, result);
+                    results.put(mode, result);
+                }
+                report.put(name, results);
+            }
+        }
+
+        Path output = reportDir.resolve("startup.json");
+        Files.writeString(output, Json.write(report));
+        System.out.println("Report written to " + output);
+    }
+
+    private static Map<String, String> startupEnv(String jdbcUrl) {
+        Map<String, String> env = new LinkedHashMap<>(LoadTestEnvironment.serviceEnv(jdbcUrl));
+        env.put("DB_POOL_MIN_IDLE", "0");
+        return env;
+    }
+
+    private static List<String> command(String mode, Path bootJar, ExplodedApplication exploded, Path nativeBinary, String serviceClasspath) {
+        String cds = "-XX:SharedArchiveFile=" + exploded.archive();
+        return switch (mode) {
+            case "jar" -> List.of(ServiceProcess.java(), "-cp", bootJar + File.pathSeparator + serviceClasspath,
+                    "org.springframework.boot.loader.launch.JarLauncher");
+            case "exploded" -> exploded.command(List.of(), serviceClasspath);
+            case "cds" -> exploded.command(List.of(cds), serviceClasspath);
+            case "cds-aot", "cds-aot-lazy" -> exploded.command(List.of(cds, "-Dspring.aot.enabled=true"), serviceClasspath);
+            case "native" -> List.of(nativeBinary.toString());
+            default -> throw new IllegalArgumentException("Unknown startup mode: " + mode);
+        };
+    }
+
+    // 시드 사용자 user0으로 로그인, 가입은 시도마다 새 username (재시도가 409가 되지 않도록)
+    private static IntFunction<HttpRequest> firstRequest(String service, ServiceProcess process, String runId) {
+        if (service.equals("login")) {
+            String body = "{\"username\":\"user0\",\"password\":\"" + EmbeddedDatabase.password(0) + "\"}";
+            return attempt -> TrafficMix.json(process, "/app-two/login", body);
+        }
+        return attempt -> {
+            String username = "startup-" + runId + "-" + attempt;
+            String body = "{\"username\":\"" + username + "\",\"password\":\"" + EmbeddedDatabase.password(0)
+                    + "\",\"email\":\"" + username + "@example.com\"}";
+            return TrafficMix.json(process, "/app-one/register", body);
+        };
+    }
+
+    // 연결 시도가 바로 거절되도록 열었다가 닫은 포트
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // medianFirstRequestMillis: 기동 시작부터 첫 로그인/가입 성공까지 (측정하지 않은 모드는 -1)
+    record Result(long medianReadyMillis, long minReadyMillis, long maxReadyMillis, long medianRssKilobytes,
+                  long medianFirstRequestMillis) {
+
+        static Result of(List<Long> readyMillis, List<Long> rssKilobytes, List<Long> firstRequestMillis) {
+            List<Long> ready = new ArrayList<>(readyMillis);
+            Collections.sort(ready);
+            return new Result(median(ready), ready.get(0), ready.get(ready.size() - 1), median(rssKilobytes),
+                    firstRequestMillis.isEmpty() ? -1 : median(firstRequestMillis));
+        }
+
+        private static long median(List<Long> values) {
+            List<Long> sorted = new ArrayList<>(values);
+            Collections.sort(sorted);
+            return sorted.get(sorted.size() / 2);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ready p50=%dms (min %d, max %d), rss p50=%dMB, first request p50=%dms",
+                    medianReadyMillis, minReadyMillis, maxReadyMillis, medianRssKilobytes / 1024, medianFirstRequestMillis);
+        }
+    }
+}
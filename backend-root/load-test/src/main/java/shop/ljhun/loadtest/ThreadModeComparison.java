@@ -0,0 +1,73 @@
+package shop.ljhun.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// 느린 DB(DelayingDriver로 쿼리마다 지연 주입) 상황에서 platform thread 모드와 virtual thread 모드 비교
+// - login: Tomcat 스레드 수보다 많은 클라이언트가 로그인을 계속 시도
+// - healthz: 같은 시간 동안 /healthz 를 찌르는 프로브 1개 (platform 모드에서는 스레드가 모두 DB 대기에 묶여 같이 느려짐)
+public class ThreadModeComparison {
+
+    private static final int SEEDED_USERS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        Path loginJar = Path.of(System.getProperty("loadtest.loginJar"));
+        String serviceClasspath = System.getProperty("loadtest.serviceClasspath");
+        long dbLatencyMs = Long.getLong("loadtest.dbLatencyMs", 50);
+        int clients = Integer.getInteger("loadtest.clients", 400);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30));
+        Path reportDir = Files.createDirectories(Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest")));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("dbLatencyMs", dbLatencyMs);
+        report.put("clients", clients);
+        report.put("durationSeconds", duration.toSeconds());
+
+        try (EmbeddedDatabase database = new EmbeddedDatabase()) {
+            database.seedUsers(SEEDED_USERS);
+
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                String mode = virtualThreads ? "virtual" : "platform";
+                Map<String, String> env = new LinkedHashMap<>(LoadTestEnvironment.serviceEnv(database.serviceUrl(dbLatencyMs)));
+                env.put("VIRTUAL_THREADS_ENABLED", String.valueOf(virtualThreads));
+
+                try (ServiceProcess login = new ServiceProcess(loginJar, serviceClasspath, env, reportDir.resolve("login-" + mode + ".log"))
+                        .awaitHealthy(Duration.ofSeconds(60))) {
+
+                    ClosedLoopLoad load = new ClosedLoopLoad();
+                    CompletableFuture<LatencyRecorder.Result> probe = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return load.run(1, duration, i -> HttpRequest.newBuilder(login.uri("/healthz")).build(), 200);
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                    LatencyRecorder.Result logins = load.run(clients, duration, i -> loginRequest(login, i), 200);
+
+                    System.out.printf("[%s] login   %s%n", mode, logins);
+                    System.out.printf("[%s] healthz %s%n", mode, probe.get());
+                    report.put(mode, Map.of("login", logins, "healthz", probe.get()));
+                }
+            }
+        }
+
+        Path output = reportDir.resolve("thread-modes.json");
+        Files.writeString(output, Json.write(report));
+        System.out.println("Report written to " + output);
+    }
+
+    private static HttpRequest loginRequest(ServiceProcess login, int sequence) {
+        int user = Math.floorMod(sequence, SEEDED_USERS);
+        String body = "{\"username\":\"user" + user + "\",\"password\":\"" + EmbeddedDatabase.password(user) + "\"}";
+        return HttpRequest.newBuilder(login.uri("/app-two/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
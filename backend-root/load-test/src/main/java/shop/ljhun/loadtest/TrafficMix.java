@@ -0,0 +1,66 @@
+package shop.ljhun.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+// 시나리오별 요청 생성기와 정상으로 보는 상태 코드
+// requestFactory는 부하 스레드 여러 개가 동시에 호출하므로 상태를 두지 않음
+public record TrafficMix(String name, IntFunction<HttpRequest> requestFactory, int... expectedStatus) {
+
+    // 일부 요청이 짧은 시간에 같은 username으로 몰리도록 쓰는 이름 수
+    private static final int HOT_NAMES = 16;
+
+    // 회원가입 폭주: duplicateRatio 만큼은 이미 있는 username(시드 사용자 절반, 이번 실행 중 경합하는 인기 이름 절반), 나머지는 새 username
+    public static TrafficMix signupBurst(ServiceProcess registration, String runId, int seededUsers, double duplicateRatio) {
+        return new TrafficMix("signup", sequence -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String username;
+            if (random.nextDouble() >= duplicateRatio) {
+                username = "new-" + runId + "-" + Integer.toUnsignedString(sequence);
+            } else if (random.nextBoolean()) {
+                username = "user" + random.nextInt(seededUsers);
+            } else {
+                username = "hot-" + runId + "-" + random.nextInt(HOT_NAMES);
+            }
+            String body = "{\"username\":\"" + username + "\",\"password\":\"Passw0rd!" + sequence
+                    + "\",\"email\":\"" + username + "@example.com\"}";
+            return json(registration, "/app-one/register", body);
+        }, 201, 409);
+    }
+
+    // 로그인 폭주: invalidRatio 만큼은 틀린 비밀번호 또는 없는 사용자
+    public static TrafficMix loginStorm(ServiceProcess login, int seededUsers, double invalidRatio) {
+        return new TrafficMix("login", sequence -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int user = random.nextInt(seededUsers);
+            String username = "user" + user;
+            String password = EmbeddedDatabase.password(user);
+            if (random.nextDouble() < invalidRatio) {
+                if (random.nextBoolean()) {
+                    password = password + "x";
+                } else {
+                    username = "missing" + user;
+                }
+            }
+            String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+            return json(login, "/app-two/login", body);
+        }, 200, 401);
+    }
+
+    // 헬스 프로브 폭주: 두 서비스의 /healthz 와 ALB 헬스 체크 경로 GET /app-one/register 를 번갈아 호출
+    public static TrafficMix healthFlood(ServiceProcess login, ServiceProcess registration) {
+        return new TrafficMix("health", sequence -> switch (Math.floorMod(sequence, 3)) {
+            case 0 -> HttpRequest.newBuilder(login.uri("/healthz")).build();
+            case 1 -> HttpRequest.newBuilder(registration.uri("/healthz")).build();
+            default -> HttpRequest.newBuilder(registration.uri("/app-one/register")).build();
+        }, 200);
+    }
+
+    static HttpRequest json(ServiceProcess service, String path, String body) {
+        return HttpRequest.newBuilder(service.uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
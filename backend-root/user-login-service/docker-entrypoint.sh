@@ -0,0 +1,22 @@
+#!/bin/sh
+# 컨테이너 기동 스크립트 (Dockerfile ENTRYPOINT)
+# FAST_START=true : CDS 아카이브(application.jsa) + Spring AOT 초기화 코드
+#   lazy 초기화는 LAZY_INIT=true 일 때만: 요청 경로 Bean(컨트롤러, 서비스, 해시)이 첫 요청에서 만들어져
+#   /readyz 통과 직후 요청이 느려지므로 기본은 끔 (StartupBenchmark의 first request 시간 참고)
+# FAST_START=false: 같은 클래스패스로 아카이브/AOT 없이 기동
+# AOT 코드는 이미지 빌드 시점 조건(servlet, platform thread)으로 만들어졌으므로
+# WEB_STACK=reactive 또는 VIRTUAL_THREADS_ENABLED=true 이면 AOT 없이 CDS만 사용
+# 아카이브가 JVM/클래스패스와 맞지 않으면 JVM이 경고 후 아카이브 없이 기동함 (-Xshare:auto)
+set -e
+cd /app
+
+JAVA_FLAGS=""
+if [ "${FAST_START:-true}" = "true" ]; then
+    JAVA_FLAGS="-XX:SharedArchiveFile=application.jsa -Xshare:auto"
+    if [ "${WEB_STACK:-servlet}" = "servlet" ] && [ "${VIRTUAL_THREADS_ENABLED:-false}" != "true" ]; then
+        JAVA_FLAGS="$JAVA_FLAGS -Dspring.aot.enabled=true"
+    fi
+    export LAZY_INIT="${LAZY_INIT:-false}"
+fi
+
+exec java $JAVA_FLAGS $JAVA_OPTS @classpath.args "$APP_MAIN_CLASS" "$@"
@@ -0,0 +1,63 @@
+package shop.ljhun.userlogin;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 벤치마크용 MySQL 대용 DB: H2 in-memory(MODE=MySQL) + 운영과 같은 HikariCP 풀
+public final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    public static HikariDataSource start(String name, int poolSize) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setPoolName(name + "-pool");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        HikariDataSource dataSource = new HikariDataSource(config);
+
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS users");
+            stmt.execute("CREATE TABLE users ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "username VARCHAR(50) NOT NULL, "
+                    + "password VARCHAR(100) NOT NULL, "
+                    + "email VARCHAR(100) NOT NULL, "
+                    + "CONSTRAINT uk_users_username UNIQUE (username))");
+            // db/migration V2와 같은 로그인 조회용 인덱스
+            stmt.execute("CREATE INDEX idx_users_username_password ON users (username, password)");
+        }
+        return dataSource;
+    }
+
+    // 비밀번호 값은 조회 비용만 보므로 bcrypt 형태의 고정 문자열 사용
+    public static void seedUsers(HikariDataSource dataSource, int count) throws SQLException {
+        String hash = "$2a$10$" + "a".repeat(53);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO users (username, password, email) VALUES (?, ?, ?)")) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                stmt.setString(1, "user" + i);
+                stmt.setString(2, hash);
+                stmt.setString(3, "user" + i + "@example.com");
+                stmt.addBatch();
+                if (i % 1000 == 999) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package shop.ljhun.userlogin.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import shop.ljhun.userlogin.model.LoginRequest;
+import shop.ljhun.userlogin.model.TokenResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// LoginController의 요청 바인딩과 응답 생성/직렬화 비용
+// - bindPayload / writeFailureBody / writeTokenBody: 이전 방식 (Map<String,String> 바인딩, Map.of 응답)
+// - bindRecord / writeTokenRecord: LoginRequest, TokenResponse record (고정 응답은 ResponseBodies의 byte[]를 그대로 사용하므로 비용 없음)
+// 등록 서비스의 UserPayloadBenchmark(User DTO 바인딩)와 같은 단위로 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoginPayloadBenchmark {
+
+    private static final TypeReference<Map<String, String>> PAYLOAD_TYPE = new TypeReference<>() { };
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        payload = "{\"username\":\"user42\",\"password\":\"Passw0rd!42\"}".getBytes(StandardCharsets.UTF_8);
+        accessToken = "k1." + "A".repeat(40) + "." + "B".repeat(43);
+        refreshToken = "k1." + "C".repeat(40) + "." + "D".repeat(43);
+    }
+
+    @Benchmark
+    public Map<String, String> bindPayload() throws Exception {
+        return objectMapper.readValue(payload, PAYLOAD_TYPE);
+    }
+
+    @Benchmark
+    public LoginRequest bindRecord() throws Exception {
+        return objectMapper.readValue(payload, LoginRequest.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildFailureBody() {
+        return Map.of("success", false, "error", "Invalid credentials");
+    }
+
+    @Benchmark
+    public byte[] writeFailureBody() throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of("success", false, "error", "Invalid credentials"));
+    }
+
+    @Benchmark
+    public byte[] writeTokenBody() throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "success", true,
+                "message", "Login Succeed",
+                "accessToken", accessToken,
+                "refreshToken", refreshToken,
+                "expiresIn", 900L));
+    }
+
+    @Benchmark
+    public byte[] writeTokenRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(new TokenResponse(true, "Login Succeed", accessToken, refreshToken, 900L));
+    }
+}
@@ -0,0 +1,69 @@
+package shop.ljhun.userlogin.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import shop.ljhun.userlogin.BenchmarkDatabase;
+import shop.ljhun.userlogin.config.FailoverDataSource;
+import shop.ljhun.userlogin.metrics.LoginMetrics;
+
+import java.sql.Connection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 조회 경로의 DB 비용을 커넥션 획득과 쿼리로 나눠서 측정 (H2 MODE=MySQL 대용 DB)
+// jmh { threads } 를 풀 크기보다 크게 주면 풀 대기 시간이 acquireConnection에 드러남
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRepositoryBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+
+    @Param({"10"})
+    public int poolSize;
+
+    private HikariDataSource dataSource;
+    private UserRepository repository;
+
+    @Setup
+    public void setUp() throws Exception {
+        dataSource = BenchmarkDatabase.start("login_bench", poolSize);
+        BenchmarkDatabase.seedUsers(dataSource, USER_COUNT);
+        repository = new UserRepository();
+        // standby 없이 primary 하나만 (circuit breaker 판단 비용만 포함)
+        ReflectionTestUtils.setField(repository, "dataSource", new FailoverDataSource(dataSource, null, 3, 1000, 1, false, null));
+        ReflectionTestUtils.setField(repository, "loginMetrics", new LoginMetrics(new SimpleMeterRegistry()));
+        // 복제본 없이 생성 (start() 미호출) → findPasswordForLogin은 항상 primary
+        ReflectionTestUtils.setField(repository, "replicaRouter", new ReplicaRouter());
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean acquireConnection() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            return conn.isClosed();
+        }
+    }
+
+    @Benchmark
+    public String findExistingUser() {
+        return repository.findPasswordByUsername("user" + ThreadLocalRandom.current().nextInt(USER_COUNT));
+    }
+
+    // 복제본 라우팅 판단이 들어간 로그인 조회 경로 (복제본 미설정 시 findExistingUser와 차이가 없어야 함)
+    @Benchmark
+    public String findForLogin() {
+        return repository.findPasswordForLogin("user" + ThreadLocalRandom.current().nextInt(USER_COUNT));
+    }
+
+    @Benchmark
+    public String findMissingUser() {
+        return repository.findPasswordByUsername("nobody" + ThreadLocalRandom.current().nextInt(USER_COUNT));
+    }
+}
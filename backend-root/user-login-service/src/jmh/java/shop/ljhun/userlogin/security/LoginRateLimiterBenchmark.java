@@ -0,0 +1,40 @@
+package shop.ljhun.userlogin.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 파드 하나에서 초당 수십만 건 이상의 로그인 시도 판정을 경합 없이 처리하는지 확인
+// - uniqueKeys: 모든 스레드가 서로 다른 키 풀을 사용 (일반 트래픽)
+// - hotKey: 모든 스레드가 같은 username을 두드림 (credential stuffing 시 최악의 CAS 경합)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+public class LoginRateLimiterBenchmark {
+
+    private static final int KEY_COUNT = 100_000;
+
+    private TokenBucketLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLimiter(5, 10, 200_000);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "user" + i;
+        }
+    }
+
+    @Benchmark
+    public boolean uniqueKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)], System.nanoTime());
+    }
+
+    @Benchmark
+    public boolean hotKey() {
+        return limiter.tryAcquire("admin", System.nanoTime());
+    }
+}
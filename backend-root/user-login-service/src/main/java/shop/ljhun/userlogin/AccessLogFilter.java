@@ -0,0 +1,49 @@
+package shop.ljhun.userlogin;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userlogin.logging.EventLog;
+
+import java.io.IOException;
+
+// 요청마다 접근 로그 한 줄을 EventLog(비동기 ring buffer)에 넘김: 요청 스레드는 stdout에 직접 쓰지 않음
+// 가장 바깥 필터로 두어 ConcurrencyLimitFilter의 503, CORS preflight 응답까지 기록
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter implements Filter {
+
+    @Autowired
+    private EventLog eventLog;
+
+    @Value("${ACCESS_LOG_ENABLED:true}")
+    private boolean enabled;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            HttpServletRequest req = (HttpServletRequest) request;
+            eventLog.access(req.getMethod(), req.getRequestURI(), ((HttpServletResponse) response).getStatus(),
+                    System.nanoTime() - started,
+                    eventLog.clientIp(req.getHeader("X-Forwarded-For"), req.getRemoteAddr()),
+                    req.getHeader("User-Agent"));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package shop.ljhun.userlogin;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userlogin.controller.ResponseBodies;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 동시에 처리 중인 요청 수(in-flight)를 지연시간에 맞춰 조정되는 한도 이하로 제한하고, 넘는 요청은 바로 503 + Retry-After
+// DB가 느려져도 Tomcat 스레드가 전부 UserRepository에서 대기하며 지연이 끝없이 늘어나지 않도록 (대기열 대신 빠른 거절)
+// 한도 조정은 gradient 방식: 평소 응답시간(long RTT, 느린 EWMA)과 최근 응답시간(short RTT, window 평균)의 비율로
+//   최근이 평소의 CONCURRENCY_LIMIT_RTT_TOLERANCE배를 넘으면 줄이고, 그 안이면 sqrt(limit)만큼씩 늘림
+// /healthz, /readyz, /actuator 는 제한하지 않음 (바쁜 파드가 liveness 실패로 재시작되거나 readiness 실패로 빠지지 않도록)
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ConcurrencyLimitFilter implements Filter {
+
+    // long RTT는 약 LONG_RTT_WINDOWS개 window에 걸쳐 따라가고, 한도 변화는 SMOOTHING만큼만 반영
+    private static final double LONG_RTT_WINDOWS = 100;
+    private static final double SMOOTHING = 0.2;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final List<String> exemptPaths;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // window 동안의 RTT 합계/건수와 최대 in-flight (요청 스레드가 lock 없이 누적)
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAccumulator windowPeak = new LongAccumulator(Math::max, 0);
+    private final AtomicLong nextUpdate = new AtomicLong(System.nanoTime());
+
+    // window가 끝날 때 CAS에 성공한 스레드가 갱신 (update()가 길어져 다음 window와 겹칠 수 있으므로 updateLock 아래에서만 읽고 씀)
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private double longRttNanos;
+    private double estimatedLimit;
+
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(@Value("${CONCURRENCY_LIMIT_ENABLED:true}") boolean enabled,
+                                  @Value("${CONCURRENCY_LIMIT_INITIAL:20}") int initialLimit,
+                                  @Value("${CONCURRENCY_LIMIT_MIN:4}") int minLimit,
+                                  @Value("${CONCURRENCY_LIMIT_MAX:200}") int maxLimit,
+                                  @Value("${CONCURRENCY_LIMIT_RTT_TOLERANCE:2.0}") double tolerance,
+                                  @Value("${CONCURRENCY_LIMIT_WINDOW_MS:100}") long windowMs,
+                                  @Value("${CONCURRENCY_LIMIT_EXEMPT_PATHS:/healthz,/readyz,/actuator}") String exemptPaths,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.exemptPaths = Arrays.stream(exemptPaths.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .toList();
+        this.estimatedLimit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.limit = (int) estimatedLimit;
+
+        Gauge.builder("http.concurrency.limit", this, f -> f.limit)
+                .description("Current adaptive in-flight request limit")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently being processed under the limit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.concurrency.rejected")
+                .description("Requests rejected with 503 because the in-flight limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!enabled || isExempt(((HttpServletRequest) request).getRequestURI())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            HttpServletResponse res = (HttpServletResponse) response;
+            res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            res.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(ResponseBodies.SERVER_BUSY);
+            return;
+        }
+
+        windowPeak.accumulate(current);
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - started);
+        }
+    }
+
+    private boolean isExempt(String path) {
+        for (String exempt : exemptPaths) {
+            if (path.startsWith(exempt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onSample(long rttNanos) {
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+
+        long now = System.nanoTime();
+        long next = nextUpdate.get();
+        if (now - next < 0 || !nextUpdate.compareAndSet(next, now + windowNanos)) {
+            return;
+        }
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        long peak = windowPeak.getThenReset();
+        if (samples > 0) {
+            update((double) rttSum / samples, peak);
+        }
+    }
+
+    private void update(double shortRtt, long peakInFlight) {
+        updateLock.lock();
+        try {
+            adjust(shortRtt, peakInFlight);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void adjust(double shortRtt, long peakInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) / LONG_RTT_WINDOWS;
+            // 부하가 빠진 뒤에는 기준 RTT도 빨리 내려오도록
+            if (longRttNanos > 2 * shortRtt) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        // 한도의 절반도 쓰지 않고 있으면 한도가 병목이 아니므로 늘리지 않음
+        if (peakInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(estimatedLimit, maxLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -1,28 +1,72 @@
 package shop.ljhun.userlogin;
 
 import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+// ConcurrencyLimitFilter보다 먼저: preflight는 제한 없이 응답하고, 503에도 CORS 헤더가 붙도록
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
 public class CorsHeaderFilter implements Filter {
 
+    private static final String ALLOWED_METHODS = "GET, POST, OPTIONS";
+    private static final String ALLOWED_HEADERS = "content-type, authorization";
+
+    private final Set<String> allowedOrigins;
+    private final String maxAge;
+
+    // 허용할 도메인 목록은 CORS_ALLOWED_ORIGINS(쉼표 구분)로 설정, 요청마다 HashSet 조회 한 번으로 판정
+    public CorsHeaderFilter(@Value("${CORS_ALLOWED_ORIGINS:https://www.ljhun.shop,https://ljhun.shop}") String origins,
+                            @Value("${CORS_MAX_AGE_SECONDS:3600}") long maxAgeSeconds) {
+        this.allowedOrigins = Arrays.stream(origins.split(","))
+                .map(String::trim)
+                .filter(origin -> !origin.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.maxAge = String.valueOf(maxAgeSeconds);
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
+        HttpServletRequest req = (HttpServletRequest) request;
         HttpServletResponse res = (HttpServletResponse) response;
-        String origin = ((jakarta.servlet.http.HttpServletRequest) request).getHeader("Origin");
+        String origin = req.getHeader("Origin");
+        if (origin == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        // 허용할 도메인 목록
-        if ("https://www.ljhun.shop".equals(origin) || "https://ljhun.shop".equals(origin)) {
+        res.setHeader("Vary", "Origin");
+        boolean allowed = allowedOrigins.contains(origin);
+        if (allowed) {
             res.setHeader("Access-Control-Allow-Origin", origin); // 요청 Origin을 그대로 echo
             res.setHeader("Access-Control-Allow-Credentials", "true");
-            res.setHeader("Access-Control-Allow-Methods", "GET, POST, OPTIONS");
-            res.setHeader("Access-Control-Allow-Headers", "content-type, authorization");
-            res.setHeader("Vary", "Origin");
+            res.setHeader("Access-Control-Allow-Methods", ALLOWED_METHODS);
+            res.setHeader("Access-Control-Allow-Headers", ALLOWED_HEADERS);
+        }
+
+        // Preflight(OPTIONS + Access-Control-Request-Method)는 DispatcherServlet까지 보내지 않고 여기서 바로 응답
+        // Access-Control-Max-Age 동안 브라우저가 preflight 결과를 캐시하므로 POST마다 OPTIONS가 나가지 않음
+        if ("OPTIONS".equals(req.getMethod()) && req.getHeader("Access-Control-Request-Method") != null) {
+            if (allowed) {
+                res.setHeader("Access-Control-Max-Age", maxAge);
+                res.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            } else {
+                res.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            }
+            return;
         }
 
         chain.doFilter(request, response);
@@ -0,0 +1,22 @@
+package shop.ljhun.userlogin.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import shop.ljhun.userlogin.metrics.LoginMetrics;
+import shop.ljhun.userlogin.repository.DatabaseReadiness;
+import shop.ljhun.userlogin.repository.ReplicaRouter;
+
+// LAZY_INIT=true(기본 false)이면 Bean은 처음 쓰일 때 생성되지만, 아래 Bean은 기동 시점에 바로 생성
+// - FailoverDataSource, ReplicaRouter: 장애/지연 감시 작업은 Bean이 생성되어야 시작됨 (첫 요청 전부터 장애/지연을 감지해야 함)
+// - LoginMetrics: 미리 등록해 두는 지표가 첫 요청 전에도 /actuator/prometheus 에 보이도록
+// - DatabaseReadiness: 첫 /readyz 요청 전에 DB 검사를 시작해야 파드가 ready가 됨
+// 필터와 ApplicationRunner(커넥션 풀 워밍업)는 lazy 설정과 관계없이 기동 시 생성됨
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FailoverDataSource.class, DatabaseReadiness.class, ReplicaRouter.class, LoginMetrics.class);
+    }
+}
@@ -1,15 +1,39 @@
 package shop.ljhun.userlogin.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import shop.ljhun.userlogin.repository.DatabaseReadiness;
 
+import java.nio.charset.StandardCharsets;
+
+// servlet / reactive 스택 모두에서 그대로 사용 (서블릿 타입에 의존하지 않음)
+// - /healthz: liveness, 프로세스가 응답하는지만 확인 (DB 장애로 파드가 재시작되지 않도록)
+// - /readyz : readiness, DatabaseReadiness가 백그라운드에서 검사해 둔 결과만 읽음 (요청마다 DB를 치지 않음)
 @RestController
 public class HealthController {
 
+    // 응답 객체는 미리 만들어 두고 그대로 반환
+    private static final ResponseEntity<byte[]> READY = ResponseEntity.ok()
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("OK".getBytes(StandardCharsets.UTF_8));
+    private static final ResponseEntity<byte[]> NOT_READY = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("DATABASE UNAVAILABLE".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private DatabaseReadiness databaseReadiness;
+
     @GetMapping("/healthz")
-    public ResponseEntity<String> generalHealthCheck(HttpServletRequest request) {
+    public ResponseEntity<String> generalHealthCheck() {
         return ResponseEntity.ok("OK");
     }
-}
\ No newline at end of file
+
+    @GetMapping("/readyz")
+    public ResponseEntity<byte[]> readinessCheck() {
+        return databaseReadiness.isReady() ? READY : NOT_READY;
+    }
+}
@@ -2,19 +2,25 @@ package shop.ljhun.userlogin.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-import shop.ljhun.userlogin.model.User;
+import shop.ljhun.userlogin.TokenAuthenticationFilter;
+import shop.ljhun.userlogin.metrics.LoginMetrics;
+import shop.ljhun.userlogin.model.LoginRequest;
+import shop.ljhun.userlogin.model.RefreshRequest;
+import shop.ljhun.userlogin.model.TokenResponse;
+import shop.ljhun.userlogin.repository.DatabaseUnavailableException;
+import shop.ljhun.userlogin.security.LoginRateLimiter;
+import shop.ljhun.userlogin.security.PasswordHashingException;
+import shop.ljhun.userlogin.security.TokenService;
 import shop.ljhun.userlogin.service.UserService;
 
 import java.util.Map;
 
-@CrossOrigin(
-    origins = { "https://www.ljhun.shop", "https://ljhun.shop" },
-    allowedHeaders = "*",
-    allowCredentials = "true",
-    methods = { RequestMethod.GET, RequestMethod.POST, RequestMethod.OPTIONS }
-)
+// CORS는 CorsHeaderFilter에서만 처리 (MVC 레이어에서 중복 처리하지 않음)
+// WEB_STACK=reactive 배포에서는 reactive 패키지의 컨트롤러가 같은 경로를 담당
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/app-two")
 public class LoginController {
@@ -22,25 +28,87 @@ public class LoginController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private LoginMetrics loginMetrics;
+
     @GetMapping("/login")
     public ResponseEntity<?> loginHealthCheck(HttpServletRequest request) {
-        return ResponseEntity.ok(Map.of("success", true, "message", "Health Check Passed"));
+        return ResponseBodies.json(HttpStatus.OK, ResponseBodies.HEALTH_PASSED);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> payload) {
-        String username = payload.get("username");
-        String password = payload.get("password");
+    public ResponseEntity<?> login(@RequestBody LoginRequest payload, HttpServletRequest request) {
+        String username = payload.username();
+        String password = payload.password();
 
         if (username == null || password == null) {
-            return ResponseEntity.badRequest().body(Map.of("success", false, "error", "Missing fields"));
+            return loginMetrics.count(ResponseBodies.json(HttpStatus.BAD_REQUEST, ResponseBodies.MISSING_FIELDS));
+        }
+
+        // 시도 횟수 초과는 DB 조회/해싱 없이 바로 429
+        String clientIp = loginRateLimiter.clientIp(request);
+        if (!loginRateLimiter.tryAcquire(username, clientIp)) {
+            return loginMetrics.count(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRateLimiter.retryAfterSeconds(username, clientIp)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ResponseBodies.TOO_MANY_ATTEMPTS));
         }
 
         boolean valid = userService.verifyLogin(username, password);
         if (valid) {
-            return ResponseEntity.ok(Map.of("success", true, "message", "Login Succeed"));
+            return loginMetrics.count(ResponseEntity.ok(tokenResponse(username, "Login Succeed")));
         } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("success", false, "error", "Invalid credentials"));
+            return loginMetrics.count(ResponseBodies.json(HttpStatus.UNAUTHORIZED, ResponseBodies.INVALID_CREDENTIALS));
+        }
+    }
+
+    // refresh token만으로 새 토큰 발급 (서명 검증만 하므로 DB 조회 없음)
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest payload) {
+        String username = tokenService.verify(payload.refreshToken(), TokenService.REFRESH);
+        if (username == null) {
+            return ResponseBodies.json(HttpStatus.UNAUTHORIZED, ResponseBodies.INVALID_TOKEN);
         }
+        return ResponseEntity.ok(tokenResponse(username, "Token Refreshed"));
+    }
+
+    // access token의 주인 확인 (TokenAuthenticationFilter가 넣어준 attribute 사용)
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) String username) {
+        if (username == null) {
+            return ResponseBodies.json(HttpStatus.UNAUTHORIZED, ResponseBodies.INVALID_TOKEN);
+        }
+        return ResponseEntity.ok(Map.of("success", true, "username", username));
+    }
+
+    private TokenResponse tokenResponse(String username, String message) {
+        return new TokenResponse(true, message,
+                tokenService.issueAccessToken(username),
+                tokenService.issueRefreshToken(username),
+                tokenService.getAccessTtlSeconds());
+    }
+
+    // 해싱 워커 풀이 포화되면 요청 스레드를 붙잡지 않고 바로 503
+    @ExceptionHandler(PasswordHashingException.class)
+    public ResponseEntity<?> handleHashingOverload(PasswordHashingException e) {
+        return loginMetrics.count(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ResponseBodies.SERVER_BUSY));
+    }
+
+    // DB 장애는 잘못된 비밀번호(401)가 아니라 503으로 응답해서 클라이언트가 재시도할 수 있게 함
+    @ExceptionHandler(DatabaseUnavailableException.class)
+    public ResponseEntity<?> handleDatabaseUnavailable(DatabaseUnavailableException e) {
+        return loginMetrics.count(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ResponseBodies.DATABASE_UNAVAILABLE));
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package shop.ljhun.userlogin.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 내용이 고정된 JSON 응답은 기동 시 한 번만 직렬화해 두고 요청마다 byte[]를 그대로 씀
+// (byte[] 본문은 ByteArrayHttpMessageConverter가 복사 없이 출력하므로 Map 생성/Jackson 직렬화가 없음)
+public final class ResponseBodies {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static final byte[] HEALTH_PASSED = body(true, "message", "Health Check Passed");
+    public static final byte[] MISSING_FIELDS = body(false, "error", "Missing fields");
+    public static final byte[] TOO_MANY_ATTEMPTS = body(false, "error", "Too many login attempts");
+    public static final byte[] INVALID_CREDENTIALS = body(false, "error", "Invalid credentials");
+    public static final byte[] INVALID_TOKEN = body(false, "error", "Invalid token");
+    public static final byte[] SERVER_BUSY = body(false, "error", "Server busy");
+    public static final byte[] DATABASE_UNAVAILABLE = body(false, "error", "Database unavailable");
+
+    private ResponseBodies() {
+    }
+
+    public static ResponseEntity<byte[]> json(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static byte[] body(boolean success, String key, String value) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", success);
+        body.put(key, value);
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package shop.ljhun.userlogin.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 경로 단계별 지연시간(login.stage), 응답 코드별 건수(login.requests), DB 오류 건수(login.db.errors),
+// 로그인 조회가 어느 DB로 갔는지(login.db.reads: primary / replica)
+// 태그 값은 enum / 상태 코드 / 고정 문자열만 사용 (username, IP 등은 절대 태그로 쓰지 않음)
+// meter는 미리 만들어 두고 요청마다 registry 조회 없이 기록
+@Component
+public class LoginMetrics {
+
+    public enum Stage {
+        CONNECTION_ACQUIRE("connection_acquire"),
+        QUERY("query"),
+        PASSWORD_VERIFY("password_verify");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Integer, Counter> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> dbErrors = new ConcurrentHashMap<>();
+    private final Map<String, Counter> reads = new ConcurrentHashMap<>();
+
+    public LoginMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("login.stage")
+                    .description("Time spent in each stage of a login request")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+        }
+        for (int status : new int[]{200, 400, 401, 429, 503}) {
+            outcome(status);
+        }
+    }
+
+    public void recordStage(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 컨트롤러에서 return 직전에 감싸서 사용: return loginMetrics.count(ResponseEntity...)
+    public <T> ResponseEntity<T> count(ResponseEntity<T> response) {
+        outcome(response.getStatusCode().value()).increment();
+        return response;
+    }
+
+    // operation: 고정된 쿼리 이름 (find_password, update_password)
+    public void recordDbError(String operation) {
+        dbErrors.computeIfAbsent(operation, op -> Counter.builder("login.db.errors")
+                .description("Database calls that failed")
+                .tag("operation", op)
+                .register(meterRegistry)).increment();
+    }
+
+    // target: primary 또는 replica
+    public void recordRead(String target) {
+        reads.computeIfAbsent(target, t -> Counter.builder("login.db.reads")
+                .description("Login lookups by the database that served them")
+                .tag("target", t)
+                .register(meterRegistry)).increment();
+    }
+
+    private Counter outcome(int status) {
+        return outcomes.computeIfAbsent(status, s -> Counter.builder("login.requests")
+                .description("Login requests by response status")
+                .tag("status", String.valueOf(s))
+                .register(meterRegistry));
+    }
+}
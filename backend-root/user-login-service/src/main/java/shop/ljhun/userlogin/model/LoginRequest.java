@@ -0,0 +1,8 @@
+package shop.ljhun.userlogin.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// POST /app-two/login 본문 (Map 대신 record로 바인딩, 모르는 필드는 무시)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LoginRequest(String username, String password) {
+}
@@ -0,0 +1,8 @@
+package shop.ljhun.userlogin.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// POST /app-two/token/refresh 본문
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RefreshRequest(String refreshToken) {
+}
@@ -0,0 +1,5 @@
+package shop.ljhun.userlogin.model;
+
+// 로그인/토큰 재발급 성공 응답 (필드 이름과 순서는 기존 JSON 응답과 동일)
+public record TokenResponse(boolean success, String message, String accessToken, String refreshToken, long expiresIn) {
+}
@@ -0,0 +1,78 @@
+package shop.ljhun.userlogin.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+// WEB_STACK=reactive 배포 전용 설정: Netty event loop + R2DBC(MySQL) 커넥션 풀
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    @Value("${DB_HOST:localhost}")
+    private String dbHost;
+
+    @Value("${DB_USER:root}")
+    private String dbUser;
+
+    @Value("${DB_PASSWORD:pass1234}")
+    private String dbPassword;
+
+    @Value("${DB_NAME:userdb}")
+    private String dbName;
+
+    // 지정하면 DB_HOST/DB_NAME 대신 이 R2DBC URL을 그대로 사용
+    @Value("${DB_R2DBC_URL:}")
+    private String r2dbcUrl;
+
+    @Value("${DB_POOL_MAX_SIZE:10}")
+    private int maxPoolSize;
+
+    @Value("${DB_POOL_MIN_IDLE:4}")
+    private int minIdle;
+
+    @Value("${DB_POOL_CONNECTION_TIMEOUT_MS:3000}")
+    private long connectionTimeoutMs;
+
+    // Tomcat이 classpath에 같이 있으면 reactive 모드에서도 Tomcat이 선택되므로 Netty를 명시적으로 지정
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory() {
+        ConnectionFactory connectionFactory = r2dbcUrl.isBlank()
+                ? ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                        .option(ConnectionFactoryOptions.DRIVER, "mysql")
+                        .option(ConnectionFactoryOptions.HOST, dbHost)
+                        .option(ConnectionFactoryOptions.PORT, 3306)
+                        .option(ConnectionFactoryOptions.USER, dbUser)
+                        .option(ConnectionFactoryOptions.PASSWORD, dbPassword)
+                        .option(ConnectionFactoryOptions.DATABASE, dbName)
+                        .build())
+                : ConnectionFactories.get(r2dbcUrl);
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("user-login-r2dbc-pool")
+                .initialSize(Math.min(minIdle, maxPoolSize))
+                .maxSize(maxPoolSize)
+                .maxAcquireTime(Duration.ofMillis(connectionTimeoutMs))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,123 @@
+package shop.ljhun.userlogin.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userlogin.controller.ResponseBodies;
+import shop.ljhun.userlogin.metrics.LoginMetrics;
+import shop.ljhun.userlogin.model.LoginRequest;
+import shop.ljhun.userlogin.model.TokenResponse;
+import shop.ljhun.userlogin.repository.DatabaseUnavailableException;
+import shop.ljhun.userlogin.security.LoginRateLimiter;
+import shop.ljhun.userlogin.security.PasswordHasher;
+import shop.ljhun.userlogin.security.PasswordHashingException;
+import shop.ljhun.userlogin.security.TokenService;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// LoginController와 같은 요청/응답 규격의 non-blocking 버전 (WEB_STACK=reactive)
+// DB는 R2DBC, bcrypt는 PasswordHasher 워커 풀에서 처리하므로 Netty event loop 스레드는 대기하지 않음
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping("/app-two")
+public class ReactiveLoginController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveLoginController.class);
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private LoginMetrics loginMetrics;
+
+    @GetMapping("/login")
+    public ResponseEntity<byte[]> loginHealthCheck() {
+        return ResponseBodies.json(HttpStatus.OK, ResponseBodies.HEALTH_PASSED);
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> login(@RequestBody LoginRequest payload, ServerHttpRequest request) {
+        String username = payload.username();
+        String password = payload.password();
+
+        if (username == null || password == null) {
+            return Mono.just(loginMetrics.count(ResponseBodies.json(HttpStatus.BAD_REQUEST, ResponseBodies.MISSING_FIELDS)));
+        }
+
+        String clientIp = loginRateLimiter.clientIp(request.getHeaders().getFirst("X-Forwarded-For"), remoteAddr(request));
+        if (!loginRateLimiter.tryAcquire(username, clientIp)) {
+            return Mono.just(loginMetrics.count(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRateLimiter.retryAfterSeconds(username, clientIp)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ResponseBodies.TOO_MANY_ATTEMPTS)));
+        }
+
+        return userRepository.findPasswordByUsername(username)
+                .flatMap(stored -> hashing(() -> passwordHasher.verifyAsync(password, stored))
+                        .doOnNext(verification -> {
+                            if (verification == PasswordHasher.Verification.MATCH_NEEDS_REHASH) {
+                                upgradeHash(username, password, stored);
+                            }
+                        })
+                        .map(verification -> verification != PasswordHasher.Verification.MISMATCH))
+                // 없는 username도 bcrypt 비교 1회를 거쳐 응답 시간으로 존재 여부가 드러나지 않도록
+                .switchIfEmpty(hashing(() -> passwordHasher.verifyUnknownAsync(password)).thenReturn(false))
+                .<ResponseEntity<?>>map(valid -> valid
+                        ? ResponseEntity.ok(tokenResponse(username))
+                        : ResponseBodies.json(HttpStatus.UNAUTHORIZED, ResponseBodies.INVALID_CREDENTIALS))
+                .onErrorResume(PasswordHashingException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ResponseBodies.SERVER_BUSY)))
+                .onErrorResume(DatabaseUnavailableException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ResponseBodies.DATABASE_UNAVAILABLE)))
+                .map(loginMetrics::count);
+    }
+
+    private void upgradeHash(String username, String password, String stored) {
+        hashing(() -> passwordHasher.hashAsync(password))
+                .flatMap(upgraded -> userRepository.updatePassword(username, stored, upgraded))
+                .subscribe(updated -> { }, e -> log.warn("Password rehash for {} failed: {}", username, e.toString()));
+    }
+
+    // 해싱 워커 풀 작업을 servlet 경로(PasswordHasher.await)와 같은 제한 시간으로 기다림
+    // 시간 초과 시 future를 취소하고 PasswordHashingException(503 SERVER_BUSY)으로 전달
+    private <T> Mono<T> hashing(Supplier<CompletableFuture<T>> task) {
+        return Mono.defer(() -> Mono.fromFuture(task.get()))
+                .timeout(passwordHasher.getTimeout(),
+                        Mono.error(() -> new PasswordHashingException("Password hashing timed out", null)));
+    }
+
+    private TokenResponse tokenResponse(String username) {
+        return new TokenResponse(true, "Login Succeed",
+                tokenService.issueAccessToken(username),
+                tokenService.issueRefreshToken(username),
+                tokenService.getAccessTtlSeconds());
+    }
+
+    private static String remoteAddr(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null || address.getAddress() == null ? "unknown" : address.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,35 @@
+package shop.ljhun.userlogin.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userlogin.repository.DatabaseUnavailableException;
+
+// UserRepository와 같은 쿼리를 R2DBC로 실행 (event loop를 막지 않음)
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<String> findPasswordByUsername(String username) {
+        return databaseClient.sql("SELECT password FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("password", String.class))
+                .first()
+                .onErrorMap(DatabaseUnavailableException::new);
+    }
+
+    public Mono<Boolean> updatePassword(String username, String previous, String updated) {
+        return databaseClient.sql("UPDATE users SET password = :updated WHERE username = :username AND password = :previous")
+                .bind("updated", updated)
+                .bind("username", username)
+                .bind("previous", previous)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows == 1);
+    }
+}
@@ -0,0 +1,121 @@
+package shop.ljhun.userlogin.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ValidationDepth;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userlogin.config.FailoverDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// /readyz 용 DB 상태: 전용 스레드가 READINESS_CHECK_MS 간격으로 풀 커넥션 하나를 검증하고 결과만 저장
+// 프로브(로드밸런서 수 x 파드 수)는 저장된 값만 읽으므로 DB 부하는 프로브 수와 무관하고, 요청 스레드는 대기하지 않음
+// 마지막 성공이 READINESS_STALE_MS보다 오래되면(검사 스레드가 DB 응답을 기다리며 멈춘 경우 포함) not ready
+// servlet: FailoverDataSource (primary 장애 시 standby로 응답할 수 있으면 ready), reactive: R2DBC ConnectionPool
+//   (두 풀은 각각 servlet / reactive 모드에서만 Bean으로 만들어지므로 존재하는 쪽이 곧 현재 모드)
+@Component
+public class DatabaseReadiness {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseReadiness.class);
+
+    @Autowired
+    private ObjectProvider<FailoverDataSource> dataSource;
+
+    @Autowired
+    private ObjectProvider<ConnectionPool> connectionPool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${READINESS_CHECK_MS:2000}")
+    private long checkIntervalMs;
+
+    @Value("${READINESS_STALE_MS:6000}")
+    private long staleMs;
+
+    @Value("${READINESS_CHECK_TIMEOUT_MS:1000}")
+    private long checkTimeoutMs;
+
+    // 다른 @Scheduled 작업(복제 지연 검사 등)과 스케줄러 스레드를 나눠 쓰지 않도록 전용 스레드
+    private ScheduledExecutorService executor;
+    private long staleNanos;
+
+    private volatile boolean lastCheckPassed;
+    private volatile long lastSuccessNanos;
+
+    @PostConstruct
+    void start() {
+        staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMs);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-readiness");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+        meterRegistry.gauge("db.ready", this, readiness -> readiness.isReady() ? 1 : 0);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return lastCheckPassed && System.nanoTime() - lastSuccessNanos <= staleNanos;
+    }
+
+    private void check() {
+        boolean wasReady = isReady();
+        boolean passed;
+        try {
+            passed = probe();
+        } catch (Exception e) {
+            log.debug("Readiness check failed: {}", e.getMessage());
+            passed = false;
+        }
+        if (passed) {
+            lastSuccessNanos = System.nanoTime();
+        }
+        lastCheckPassed = passed;
+        if (passed != wasReady) {
+            log.info("Database readiness changed to {}", passed ? "ready" : "not ready");
+        }
+    }
+
+    private boolean probe() throws SQLException {
+        FailoverDataSource jdbc = dataSource.getIfAvailable();
+        if (jdbc != null) {
+            try (Connection conn = jdbc.getConnection()) {
+                return conn.isValid((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkTimeoutMs)));
+            } catch (SQLTransientConnectionException e) {
+                // 원인 없는 풀 대기 초과는 DB 장애가 아니라 부하: 부하 때문에 모든 파드가 한꺼번에 빠지지 않도록 ready 유지
+                if (e.getCause() == null) {
+                    return true;
+                }
+                throw e;
+            }
+        }
+        ConnectionPool pool = connectionPool.getIfAvailable();
+        if (pool != null) {
+            return Boolean.TRUE.equals(Mono.usingWhen(pool.create(),
+                            conn -> Mono.from(conn.validate(ValidationDepth.REMOTE)),
+                            io.r2dbc.spi.Connection::close)
+                    .block(Duration.ofMillis(checkTimeoutMs)));
+        }
+        return false;
+    }
+}
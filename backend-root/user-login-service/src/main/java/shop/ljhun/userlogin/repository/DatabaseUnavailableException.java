@@ -0,0 +1,9 @@
+package shop.ljhun.userlogin.repository;
+
+// DB에 연결할 수 없거나 조회가 실패한 경우 (잘못된 비밀번호와 구분해서 401이 아닌 503으로 응답)
+public class DatabaseUnavailableException extends RuntimeException {
+
+    public DatabaseUnavailableException(Throwable cause) {
+        super("Database unavailable", cause);
+    }
+}
@@ -0,0 +1,311 @@
+package shop.ljhun.userlogin.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userlogin.config.FailoverDataSource;
+import shop.ljhun.userlogin.model.Usernames;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 조회(읽기 전용)를 읽기 복제본(DMS 등으로 복제된 DB)으로 분산
+// - 선택: 복제본별 최근 응답시간(EWMA)의 역수에 비례한 가중 랜덤
+// - 지연 감시: primary의 replication_heartbeat 값과 복제본의 값 차이를 복제 지연으로 보고, DB_REPLICA_MAX_LAG_MS를 넘으면 제외
+//   (측정 정밀도는 DB_REPLICA_LAG_CHECK_MS 간격)
+// - 이 파드가 primary에 쓴 username은 복제 지연 동안 primary에서만 읽음
+// - 복제본에 없는 username은 (가입 직후일 수 있으므로) primary에서 확인하고, primary에도 없으면 DB_REPLICA_NEGATIVE_CACHE_MS 동안
+//   같은 username의 복제본 miss는 primary로 다시 보내지 않음 (없는 username 반복 시도가 primary로 몰리지 않도록)
+// DB_REPLICA_HOSTS가 비어 있으면 모든 조회는 기존처럼 primary로 감
+// servlet 모드 전용 (reactive 모드의 로그인 조회는 ReactiveUserRepository가 R2DBC 풀로 처리)
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ReplicaRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // 응답시간 EWMA 가중치와 초기값 (측정 전에는 모든 복제본을 같은 비중으로 선택)
+    private static final double EWMA_ALPHA = 0.1;
+    private static final double INITIAL_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double MIN_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Autowired
+    private FailoverDataSource primary;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // host, host:port 또는 jdbc: URL을 쉼표로 구분
+    @Value("${DB_REPLICA_HOSTS:}")
+    private String replicaHosts;
+
+    @Value("${DB_USER:root}")
+    private String dbUser;
+
+    @Value("${DB_PASSWORD:pass1234}")
+    private String dbPassword;
+
+    @Value("${DB_NAME:userdb}")
+    private String dbName;
+
+    @Value("${DB_REPLICA_POOL_MAX_SIZE:10}")
+    private int maxPoolSize;
+
+    // 복제본이 응답하지 않으면 오래 기다리지 않고 primary로 넘어가도록 짧게
+    @Value("${DB_REPLICA_CONNECTION_TIMEOUT_MS:500}")
+    private long connectionTimeoutMs;
+
+    // 드라이버 연결 / 소켓 읽기 타임아웃 (primary 풀과 같은 값)
+    @Value("${DB_CONNECT_TIMEOUT_MS:500}")
+    private long connectTimeoutMs;
+
+    @Value("${DB_QUERY_TIMEOUT_MS:2000}")
+    private long queryTimeoutMs;
+
+    @Value("${DB_REPLICA_MAX_LAG_MS:5000}")
+    private long maxLagMs;
+
+    @Value("${DB_REPLICA_LAG_CHECK_MS:1000}")
+    private long lagCheckMs;
+
+    // 짧을수록 "로그인 실패 직후 가입한 username"이 이 시간 동안 401을 받을 가능성이 줄어듦
+    @Value("${DB_REPLICA_NEGATIVE_CACHE_MS:2000}")
+    private long negativeCacheMs;
+
+    @Value("${DB_REPLICA_NEGATIVE_CACHE_MAX:100000}")
+    private int negativeCacheMax;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final Map<String, Long> absentUntil = new ConcurrentHashMap<>();
+
+    // 다른 @Scheduled 작업(로그인 제한 정리 등)과 스케줄러 스레드를 나눠 쓰지 않도록 전용 스레드 (복제본이 있을 때만)
+    private ScheduledExecutorService lagChecker;
+
+    @PostConstruct
+    void start() {
+        for (String host : replicaHosts.split(",")) {
+            if (host.isBlank()) {
+                continue;
+            }
+            Replica replica = new Replica(host.trim(), createPool(host.trim(), replicas.size()));
+            replicas.add(replica);
+            Tags tags = Tags.of("replica", replica.name);
+            meterRegistry.gauge("login.replica.lag", tags, replica, r -> r.lagMs);
+            meterRegistry.gauge("login.replica.available", tags, replica, r -> r.available ? 1 : 0);
+        }
+        if (!replicas.isEmpty()) {
+            log.info("Routing login reads to {} replica(s), max lag {} ms", replicas.size(), maxLagMs);
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(() -> {
+                try {
+                    checkLag();
+                } catch (RuntimeException e) {
+                    log.warn("Replica lag check failed: {}", e.toString());
+                }
+            }, 0, lagCheckMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        replicas.forEach(r -> r.dataSource.close());
+    }
+
+    // null이면 primary에서 읽어야 함 (복제본 없음, 모두 제외됨, 또는 이 파드가 방금 쓴 username)
+    Replica select(String username) {
+        if (replicas.isEmpty() || isPinned(username)) {
+            return null;
+        }
+        double total = 0;
+        for (Replica replica : replicas) {
+            if (replica.available) {
+                total += replica.weight();
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+        double pick = ThreadLocalRandom.current().nextDouble(total);
+        Replica chosen = null;
+        for (Replica replica : replicas) {
+            if (replica.available) {
+                chosen = replica;
+                pick -= replica.weight();
+                if (pick < 0) {
+                    break;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    // primary에 쓴 직후: 복제가 따라올 때까지 이 username은 primary에서 읽음
+    void pinToPrimary(String username) {
+        if (!replicas.isEmpty()) {
+            pinnedUntil.put(key(username), System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLagMs + lagCheckMs));
+            absentUntil.remove(key(username));
+        }
+    }
+
+    // 복제본과 primary 모두에 없던 username (맵이 가득 차면 기록하지 않고 primary 확인을 계속함)
+    void markAbsent(String username) {
+        if (negativeCacheMs > 0 && absentUntil.size() < negativeCacheMax) {
+            absentUntil.put(key(username), System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(negativeCacheMs));
+        }
+    }
+
+    boolean isKnownAbsent(String username) {
+        if (absentUntil.isEmpty()) {
+            return false;
+        }
+        Long until = absentUntil.get(key(username));
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    // 조회가 실패한 복제본은 다음 지연 검사에서 정상으로 확인될 때까지 제외
+    void markFailed(Replica replica, SQLException e) {
+        if (replica.available) {
+            log.warn("Replica {} failed, routing reads to other replicas or primary: {}", replica.name, e.getMessage());
+        }
+        replica.available = false;
+    }
+
+    void checkLag() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now < 0);
+        absentUntil.values().removeIf(until -> until - now < 0);
+
+        Long primaryBeat;
+        try {
+            primaryBeat = readHeartbeat(primary);
+            writeHeartbeat();
+        } catch (SQLException e) {
+            log.warn("Replication heartbeat on primary failed: {}", e.getMessage());
+            primaryBeat = null;
+        }
+
+        for (Replica replica : replicas) {
+            long lag;
+            try {
+                Long replicaBeat = readHeartbeat(replica.dataSource);
+                lag = primaryBeat == null || replicaBeat == null ? -1 : Math.max(0, primaryBeat - replicaBeat);
+            } catch (SQLException e) {
+                lag = -1;
+            }
+            // 지연을 알 수 없으면(-1) 최신 데이터라고 보장할 수 없으므로 제외
+            boolean healthy = lag >= 0 && lag <= maxLagMs;
+            if (healthy != replica.available) {
+                log.info("Replica {} {} (lag {} ms)", replica.name, healthy ? "restored" : "ejected", lag);
+            }
+            replica.lagMs = lag;
+            replica.available = healthy;
+        }
+    }
+
+    private boolean isPinned(String username) {
+        if (pinnedUntil.isEmpty()) {
+            return false;
+        }
+        Long until = pinnedUntil.get(key(username));
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    private static Long readHeartbeat(DataSource dataSource) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT ts FROM replication_heartbeat WHERE id = 1");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+
+    // 여러 파드가 동시에 써도 값이 뒤로 가지 않도록 GREATEST (승격되지 않은 standby에는 쓰지 않음)
+    private void writeHeartbeat() throws SQLException {
+        try (Connection conn = primary.getWriteConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE replication_heartbeat SET ts = GREATEST(ts, ?) WHERE id = 1")) {
+            stmt.setLong(1, System.currentTimeMillis());
+            stmt.executeUpdate();
+        }
+    }
+
+    private HikariDataSource createPool(String host, int index) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("user-login-replica-" + index);
+        config.setJdbcUrl(host.startsWith("jdbc:") ? host
+                : "jdbc:mysql://" + (host.contains(":") ? host : host + ":3306") + "/" + dbName);
+        config.setUsername(dbUser);
+        config.setPassword(dbPassword);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        if (config.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "64");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "512");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("connectTimeout", String.valueOf(connectTimeoutMs));
+            config.addDataSourceProperty("socketTimeout", String.valueOf(queryTimeoutMs));
+        }
+        return new HikariDataSource(config);
+    }
+
+    // DB가 같은 계정으로 보는 이름은 같은 키 (로그인 시도 제한과 같은 규칙)
+    private static String key(String username) {
+        return Usernames.key(username);
+    }
+
+    static final class Replica {
+
+        final String name;
+        final HikariDataSource dataSource;
+
+        // 검사 시점 사이에 조회 실패로 false가 될 수 있으므로 volatile
+        volatile boolean available;
+        volatile long lagMs = -1;
+
+        // 여러 요청 스레드가 동시에 갱신하면 일부 샘플이 유실될 수 있지만 가중치 용도로는 충분
+        private volatile double latencyEwmaNanos = INITIAL_LATENCY_NANOS;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void recordLatency(long nanos) {
+            latencyEwmaNanos += EWMA_ALPHA * (nanos - latencyEwmaNanos);
+        }
+
+        double weight() {
+            return 1.0 / Math.max(latencyEwmaNanos, MIN_LATENCY_NANOS);
+        }
+    }
+}
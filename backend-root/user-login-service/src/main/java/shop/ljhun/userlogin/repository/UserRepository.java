@@ -1,42 +1,120 @@
 package shop.ljhun.userlogin.repository;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Repository;
+import shop.ljhun.userlogin.config.FailoverDataSource;
+import shop.ljhun.userlogin.logging.EventLog;
+import shop.ljhun.userlogin.metrics.LoginMetrics;
 
+import javax.sql.DataSource;
 import java.sql.*;
 
 @Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserRepository {
 
-    @Value("${DB_HOST:localhost}")
-    private String dbHost;
+    // DataSourceConfig에서 등록한 커넥션 풀 (close() 시 커넥션은 풀로 반환됨, primary 장애 시 standby로 전환)
+    @Autowired
+    private FailoverDataSource dataSource;
 
-    @Value("${DB_USER:root}")
-    private String dbUser;
+    @Autowired
+    private LoginMetrics loginMetrics;
 
-    @Value("${DB_PASSWORD:pass1234}")
-    private String dbPassword;
+    @Autowired
+    private ReplicaRouter replicaRouter;
 
-    @Value("${DB_NAME:userdb}")
-    private String dbName;
+    @Autowired
+    private EventLog eventLog;
 
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-                "jdbc:mysql://" + dbHost + ":3306/" + dbName, dbUser, dbPassword);
+    // 풀에서 커넥션을 받는 시간(풀 고갈 시 대기 포함)을 쿼리 시간과 따로 기록 (쓰기용: primary 또는 승격된 standby)
+    private Connection getWriteConnection() throws SQLException {
+        long started = System.nanoTime();
+        Connection conn = dataSource.getWriteConnection();
+        loginMetrics.recordStage(LoginMetrics.Stage.CONNECTION_ACQUIRE, System.nanoTime() - started);
+        return conn;
     }
 
-    public boolean verifyCredentials(String username, String password) {
-        String sql = "SELECT 1 FROM users WHERE username = ? AND password = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    // 로그인 검증용 조회: 정상 복제본이 있으면 복제본에서 읽고, 복제본에 없거나(가입 직후 복제 전) 실패하면 primary에서 다시 조회
+    // 방금 primary에서도 없다고 확인한 username의 복제본 miss는 primary로 다시 보내지 않음 (ReplicaRouter.markAbsent)
+    public String findPasswordForLogin(String username) {
+        ReplicaRouter.Replica replica = replicaRouter.select(username);
+        boolean replicaMissed = false;
+        if (replica != null) {
+            long started = System.nanoTime();
+            try {
+                String password = queryPassword(replica.dataSource, username);
+                replica.recordLatency(System.nanoTime() - started);
+                if (password != null || replicaRouter.isKnownAbsent(username)) {
+                    loginMetrics.recordRead("replica");
+                    return password;
+                }
+                replicaMissed = true;
+            } catch (SQLException e) {
+                replicaRouter.markFailed(replica, e);
+            }
+        }
+        loginMetrics.recordRead("primary");
+        String password = findPasswordByUsername(username);
+        if (password == null && replicaMissed) {
+            replicaRouter.markAbsent(username);
+        }
+        return password;
+    }
 
-            stmt.setString(1, username);
-            stmt.setString(2, password);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next();
+    // 비밀번호 비교는 애플리케이션(PasswordHasher)에서 하므로 username으로 저장된 해시만 조회 (없으면 null)
+    // DB 오류는 "사용자 없음"과 구분되도록 DatabaseUnavailableException으로 던짐 (컨트롤러에서 503)
+    public String findPasswordByUsername(String username) {
+        try {
+            return queryPassword(dataSource, username);
+        } catch (SQLException e) {
+            loginMetrics.recordDbError("find_password");
+            throw new DatabaseUnavailableException(e);
+        }
+    }
+
+    private String queryPassword(DataSource source, String username) throws SQLException {
+        String sql = "SELECT password FROM users WHERE username = ?";
+        long acquireStarted = System.nanoTime();
+        try (Connection conn = source.getConnection()) {
+            loginMetrics.recordStage(LoginMetrics.Stage.CONNECTION_ACQUIRE, System.nanoTime() - acquireStarted);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                long started = System.nanoTime();
+                stmt.setString(1, username);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    String password = rs.next() ? rs.getString(1) : null;
+                    loginMetrics.recordStage(LoginMetrics.Stage.QUERY, System.nanoTime() - started);
+                    return password;
+                }
+            } catch (SQLException e) {
+                // 복제본 커넥션이면 무시됨 (복제본 실패는 호출한 쪽에서 markFailed)
+                dataSource.recordFailure(conn, e);
+                throw e;
+            }
+        }
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    // 로그인 시 재해싱: 그 사이 다른 요청이 먼저 바꿨다면(previous 불일치) 아무것도 하지 않음
+    public boolean updatePassword(String username, String previous, String updated) {
+        String sql = "UPDATE users SET password = ? WHERE username = ? AND password = ?";
+        try (Connection conn = getWriteConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, updated);
+                stmt.setString(2, username);
+                stmt.setString(3, previous);
+                boolean changed = stmt.executeUpdate() == 1;
+                if (changed) {
+                    replicaRouter.pinToPrimary(username);
+                }
+                return changed;
+            } catch (SQLException e) {
+                dataSource.recordFailure(conn, e);
+                throw e;
+            }
+        } catch (SQLException e) {
+            loginMetrics.recordDbError("update_password");
+            eventLog.error("update_password", e);
             return false;
         }
     }
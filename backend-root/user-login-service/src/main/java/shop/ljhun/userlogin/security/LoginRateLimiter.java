@@ -0,0 +1,77 @@
+package shop.ljhun.userlogin.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userlogin.model.Usernames;
+
+import java.util.concurrent.TimeUnit;
+
+// 로그인 시도 제한 (클라이언트 IP별 + username별), DB/해싱 전에 메모리에서만 판정
+// username 버킷은 Usernames.key로 묶음: DB는 대소문자·악센트를 무시하고 같은 계정을 찾으므로
+//   "Alice", "ALICE", "alíce"를 다른 키로 두면 계정 하나에 버킷 여러 개를 돌려 쓸 수 있음
+@Component
+public class LoginRateLimiter {
+
+    @Value("${LOGIN_RATE_IP_CAPACITY:30}")
+    private int ipCapacity;
+
+    @Value("${LOGIN_RATE_IP_PER_MINUTE:60}")
+    private int ipPerMinute;
+
+    @Value("${LOGIN_RATE_USER_CAPACITY:5}")
+    private int userCapacity;
+
+    @Value("${LOGIN_RATE_USER_PER_MINUTE:10}")
+    private int userPerMinute;
+
+    @Value("${LOGIN_RATE_MAX_KEYS:200000}")
+    private int maxKeys;
+
+    // X-Forwarded-For에서 뒤에서 몇 번째 값을 클라이언트 IP로 볼지 (ALB는 1, GCP LB는 "client, lb" 형태라 2)
+    // 맨 앞 값은 클라이언트가 임의로 넣을 수 있으므로 사용하지 않음
+    @Value("${LOGIN_RATE_TRUSTED_PROXY_HOPS:1}")
+    private int trustedProxyHops;
+
+    private TokenBucketLimiter byIp;
+    private TokenBucketLimiter byUsername;
+
+    @PostConstruct
+    void init() {
+        byIp = new TokenBucketLimiter(ipCapacity, ipPerMinute, maxKeys);
+        byUsername = new TokenBucketLimiter(userCapacity, userPerMinute, maxKeys);
+    }
+
+    public boolean tryAcquire(String username, String clientIp) {
+        long now = System.nanoTime();
+        return byIp.tryAcquire(clientIp, now) && byUsername.tryAcquire(Usernames.key(username), now);
+    }
+
+    public long retryAfterSeconds(String username, String clientIp) {
+        long now = System.nanoTime();
+        long waitNanos = Math.max(byIp.nanosUntilNextToken(clientIp, now), byUsername.nanosUntilNextToken(Usernames.key(username), now));
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public String clientIp(HttpServletRequest request) {
+        return clientIp(request.getHeader("X-Forwarded-For"), request.getRemoteAddr());
+    }
+
+    public String clientIp(String forwarded, String remoteAddr) {
+        if (forwarded == null || forwarded.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = forwarded.split(",");
+        int index = Math.max(0, hops.length - trustedProxyHops);
+        return hops[index].trim();
+    }
+
+    @Scheduled(fixedDelayString = "${LOGIN_RATE_EVICT_MS:30000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        byIp.evictIdle(now);
+        byUsername.evictIdle(now);
+    }
+}
@@ -0,0 +1,9 @@
+package shop.ljhun.userlogin.security;
+
+// 해싱 워커 풀이 포화 상태이거나 제한 시간 안에 해싱이 끝나지 않은 경우 (컨트롤러에서 503으로 응답)
+public class PasswordHashingException extends RuntimeException {
+
+    public PasswordHashingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
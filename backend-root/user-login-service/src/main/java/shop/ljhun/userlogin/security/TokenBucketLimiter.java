@@ -0,0 +1,111 @@
+package shop.ljhun.userlogin.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 키별 token bucket (락 없이 AtomicLong 하나를 CAS로 갱신)
+// 버킷 상태는 "다음 토큰이 온전히 채워지는 시각(TAT)" 하나로 표현하는 GCRA 방식이라 토큰 수/마지막 충전 시각을 따로 들고 있지 않음
+// 맵은 stripe로 나눠 stripe마다 최대 크기를 두고, 꽉 차면 가득 찬(=유휴) 버킷부터 비움
+// 비워도 꽉 찬 상태(키 폭주)면 가장 먼저 가득 찰 버킷 하나를 지우고 새 키에 자기 버킷을 줌
+//   (버킷을 나눠 쓰면 키를 쏟아내는 쪽이 같은 stripe의 실제 사용자까지 막게 됨
+//    제한이 걸린 버킷은 TAT가 멀리 있어 가장 늦게 지워지므로 공격 대상 계정의 제한은 유지됨)
+final class TokenBucketLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int maxKeysPerStripe;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    @SuppressWarnings("unchecked")
+    TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, capacity) - 1);
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    boolean tryAcquire(String key, long nowNanos) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxKeysPerStripe) {
+                evictIdle(stripe, nowNanos);
+                if (stripe.size() >= maxKeysPerStripe) {
+                    evictNearestFull(stripe);
+                }
+            }
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        return acquire(bucket, nowNanos);
+    }
+
+    private boolean acquire(AtomicLong bucket, long nowNanos) {
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, nowNanos);
+            if (start - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    // 다음 토큰까지 남은 시간 (429 Retry-After 용)
+    long nanosUntilNextToken(String key, long nowNanos) {
+        AtomicLong bucket = stripes[spread(key.hashCode()) & (STRIPES - 1)].get(key);
+        if (bucket == null) {
+            return 0;
+        }
+        return Math.max(0, bucket.get() - burstToleranceNanos - nowNanos);
+    }
+
+    void evictIdle(long nowNanos) {
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, nowNanos);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    // TAT가 이미 지난 버킷 = 토큰이 가득 찬 버킷이므로 지워도 동작이 같음
+    private static void evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long nowNanos) {
+        stripe.values().removeIf(bucket -> bucket.get() <= nowNanos);
+    }
+
+    // 키 폭주로 유휴 버킷이 없을 때: TAT가 가장 이른 버킷 = 가장 빨리 가득 찰(제한이 가장 약한) 버킷
+    private static void evictNearestFull(ConcurrentHashMap<String, AtomicLong> stripe) {
+        String nearest = null;
+        AtomicLong nearestBucket = null;
+        long nearestTat = Long.MAX_VALUE;
+        for (Map.Entry<String, AtomicLong> entry : stripe.entrySet()) {
+            long tat = entry.getValue().get();
+            if (nearest == null || tat - nearestTat < 0) {
+                nearest = entry.getKey();
+                nearestBucket = entry.getValue();
+                nearestTat = tat;
+            }
+        }
+        if (nearest != null) {
+            stripe.remove(nearest, nearestBucket);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,16 +1,81 @@
 package shop.ljhun.userlogin.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
+import shop.ljhun.userlogin.metrics.LoginMetrics;
 import shop.ljhun.userlogin.repository.UserRepository;
+import shop.ljhun.userlogin.security.PasswordHasher;
+import shop.ljhun.userlogin.security.PasswordHashingException;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginMetrics loginMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 프론트엔드 재전송 등으로 같은 username/password 검증이 동시에 여러 번 들어오면 DB 조회와 bcrypt 비교를 한 번만 수행
+    private SingleFlight<Credentials, Boolean> verifications;
+
+    @PostConstruct
+    void init() {
+        verifications = new SingleFlight<>("login", "verify_login", meterRegistry);
+    }
+
+    // 커넥션 획득/쿼리 시간은 UserRepository에서, 해시 비교(워커 풀 대기 포함)는 여기서 기록
     public boolean verifyLogin(String username, String password) {
-        return userRepository.verifyCredentials(username, password);
+        return verifications.execute(new Credentials(username, password), () -> verify(username, password));
+    }
+
+    private boolean verify(String username, String password) {
+        String stored = userRepository.findPasswordForLogin(username);
+
+        long started = System.nanoTime();
+        if (stored == null) {
+            // 없는 username도 있는 username과 같은 시간이 걸리도록 bcrypt 비교 1회
+            passwordHasher.verifyUnknown(password);
+            loginMetrics.recordStage(LoginMetrics.Stage.PASSWORD_VERIFY, System.nanoTime() - started);
+            return false;
+        }
+        PasswordHasher.Verification verification = passwordHasher.verify(password, stored);
+        loginMetrics.recordStage(LoginMetrics.Stage.PASSWORD_VERIFY, System.nanoTime() - started);
+        if (verification == PasswordHasher.Verification.MATCH_NEEDS_REHASH) {
+            upgradeHash(username, password, stored);
+        }
+        return verification != PasswordHasher.Verification.MISMATCH;
+    }
+
+    // 평문이거나 PASSWORD_HASH_COST보다 낮은 cost의 해시는 로그인 성공 시 새 해시로 교체 (응답을 기다리게 하지 않도록 비동기)
+    private void upgradeHash(String username, String password, String stored) {
+        try {
+            passwordHasher.hashAsync(password)
+                    .thenAccept(upgraded -> userRepository.updatePassword(username, stored, upgraded))
+                    .exceptionally(e -> {
+                        log.warn("Password rehash for {} failed: {}", username, e.toString());
+                        return null;
+                    });
+        } catch (PasswordHashingException e) {
+            // 해싱 풀이 포화 상태면 이번엔 건너뛰고 다음 로그인 때 다시 시도
+            log.debug("Skipping password rehash for {}: {}", username, e.getMessage());
+        }
+    }
+
+    private record Credentials(String username, String password) {
     }
-}
\ No newline at end of file
+}
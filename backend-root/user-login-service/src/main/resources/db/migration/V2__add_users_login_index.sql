@@ -0,0 +1,3 @@
+-- 로그인 조회(SELECT password ... WHERE username = ?)와 재해싱(UPDATE ... WHERE username = ? AND password = ?)을
+-- clustered index(PK)까지 가지 않고 이 인덱스만으로 처리 (username 중복 검사는 uk_users_username)
+CREATE INDEX idx_users_username_password ON users (username, password);
@@ -0,0 +1,168 @@
+package shop.ljhun.userlogin.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import shop.ljhun.userlogin.config.FailoverDataSource;
+import shop.ljhun.userlogin.metrics.LoginMetrics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// UserRepository의 public 메서드를 모두 한 번씩 호출해 실제로 prepare되는 SQL을 모으고,
+// db/migration을 적용한 MySQL 대용 DB(H2 MODE=MySQL)에서 EXPLAIN 해서 인덱스 없이 테이블 전체를 읽는 SQL이 있으면 실패
+// UserRepository에 public 메서드를 추가하면 calls에도 추가해야 함 (빠져 있으면 실패)
+public class QueryPlanCheck {
+
+    private static final int USER_COUNT = 1_000;
+    private static final String HASH = "$2a$10$" + "a".repeat(53);
+
+    @FunctionalInterface
+    interface Call {
+        void run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        JdbcDataSource database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:query_plan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        database.setUser("sa");
+        Flyway.configure().dataSource(database).load().migrate();
+        seedUsers(database);
+
+        List<String> statements = Collections.synchronizedList(new ArrayList<>());
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("query-plan-pool");
+        config.setDataSource(recording(database, statements));
+        config.setMaximumPoolSize(2);
+
+        try (HikariDataSource pool = new HikariDataSource(config)) {
+            UserRepository repository = new UserRepository();
+            ReflectionTestUtils.setField(repository, "dataSource", new FailoverDataSource(pool, null, 3, 1000, 1, false, null));
+            ReflectionTestUtils.setField(repository, "loginMetrics", new LoginMetrics(new SimpleMeterRegistry()));
+            // 복제본 없이 생성 (start() 미호출) → findPasswordForLogin은 primary 조회 SQL을 그대로 사용
+            ReflectionTestUtils.setField(repository, "replicaRouter", new ReplicaRouter());
+            // eventLog는 넣지 않음: SQL 오류로 오류 경로에 들어가면 여기서 실패하고, 원인은 아래 EXPLAIN 결과로 드러남
+
+            Map<String, Call> calls = new LinkedHashMap<>();
+            calls.put("findPasswordForLogin", () -> repository.findPasswordForLogin("user1"));
+            calls.put("findPasswordByUsername", () -> repository.findPasswordByUsername("user2"));
+            calls.put("updatePassword", () -> repository.updatePassword("user3", HASH, HASH));
+
+            List<String> failures = new ArrayList<>();
+            for (Method method : UserRepository.class.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && !calls.containsKey(method.getName())) {
+                    failures.add("UserRepository." + method.getName() + " is not exercised by QueryPlanCheck");
+                }
+            }
+
+            Map<String, Set<String>> statementsByCall = new LinkedHashMap<>();
+            for (Map.Entry<String, Call> call : calls.entrySet()) {
+                statements.clear();
+                try {
+                    call.getValue().run();
+                } catch (Exception e) {
+                    failures.add(call.getKey() + " failed: " + e);
+                }
+                statementsByCall.put(call.getKey(), new LinkedHashSet<>(statements));
+            }
+
+            for (Map.Entry<String, Set<String>> entry : statementsByCall.entrySet()) {
+                for (String sql : entry.getValue()) {
+                    String plan;
+                    try {
+                        plan = explain(database, sql);
+                    } catch (SQLException e) {
+                        failures.add(entry.getKey() + ": EXPLAIN failed for " + sql + " (" + e.getMessage() + ")");
+                        continue;
+                    }
+                    boolean fullScan = plan.contains(".tableScan");
+                    System.out.printf("[%s] %s%n  %s%n  %s%n", fullScan ? "FULL SCAN" : "OK", entry.getKey(), sql,
+                            plan.replace("\n", "\n  "));
+                    if (fullScan) {
+                        failures.add(entry.getKey() + ": full table scan for " + sql);
+                    }
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                throw new IllegalStateException("Query plan check failed:\n- " + String.join("\n- ", failures));
+            }
+        }
+    }
+
+    // 파라미터 값은 계획에 영향이 없으므로 모두 "1"
+    private static String explain(DataSource database, String sql) throws SQLException {
+        try (Connection conn = database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= stmt.getParameterMetaData().getParameterCount(); i++) {
+                stmt.setString(i, "1");
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : "";
+            }
+        }
+    }
+
+    // 빈 테이블이면 옵티마이저가 인덱스 대신 스캔을 고를 수 있으므로 row를 채우고 통계를 갱신
+    private static void seedUsers(DataSource database) throws SQLException {
+        try (Connection conn = database.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO users (username, password, email) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < USER_COUNT; i++) {
+                stmt.setString(1, "user" + i);
+                stmt.setString(2, HASH);
+                stmt.setString(3, "user" + i + "@example.com");
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (Statement analyze = conn.createStatement()) {
+                analyze.execute("ANALYZE");
+            }
+        }
+    }
+
+    // 풀이 여는 커넥션마다 prepareStatement(sql)로 넘어온 SQL을 기록
+    private static DataSource recording(DataSource target, List<String> statements) {
+        return (DataSource) Proxy.newProxyInstance(QueryPlanCheck.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection conn ? recording(conn, statements) : result;
+                });
+    }
+
+    private static Connection recording(Connection target, List<String> statements) {
+        return (Connection) Proxy.newProxyInstance(QueryPlanCheck.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        statements.add((String) args[0]);
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package shop.ljhun.userregistration;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+// 모든 요청이 지나가는 CORS 필터 비용 (Origin 없음 / 허용 Origin / preflight)
+// 요청·응답 객체는 재사용하므로 필터 자체의 헤더 조회·설정 비용만 측정
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CorsHeaderFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private CorsHeaderFilter filter;
+    private MockHttpServletRequest sameOrigin;
+    private MockHttpServletRequest crossOrigin;
+    private MockHttpServletRequest preflight;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new CorsHeaderFilter("https://www.ljhun.shop,https://ljhun.shop", 3600);
+
+        sameOrigin = new MockHttpServletRequest("POST", "/app-one/register");
+
+        crossOrigin = new MockHttpServletRequest("POST", "/app-one/register");
+        crossOrigin.addHeader("Origin", "https://www.ljhun.shop");
+
+        preflight = new MockHttpServletRequest("OPTIONS", "/app-one/register");
+        preflight.addHeader("Origin", "https://www.ljhun.shop");
+        preflight.addHeader("Access-Control-Request-Method", "POST");
+
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse noOrigin() throws Exception {
+        filter.doFilter(sameOrigin, response, NOOP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse allowedOrigin() throws Exception {
+        filter.doFilter(crossOrigin, response, NOOP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse preflight() throws Exception {
+        filter.doFilter(preflight, response, NOOP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,29 @@
+package shop.ljhun.userregistration.model;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+// 비교용: 단일 순회 validator로 바꾸기 전 User의 제약 (@Pattern lookahead 정규식 + @Email)
+public class RegexUser {
+
+    @NotBlank(message = "username은 필수입니다.")
+    private String username;
+
+    @NotBlank(message = "password는 필수입니다.")
+    @Pattern(
+        regexp = "^(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+=-]).{8,}$",
+        message = "비밀번호는 8자 이상이며, 소문자, 숫자, 특수문자를 포함해야 합니다."
+    )
+    private String password;
+
+    @NotBlank(message = "email은 필수입니다.")
+    @Email(message = "유효한 이메일 형식이어야 합니다.")
+    private String email;
+
+    public RegexUser(String username, String password, String email) {
+        this.username = username;
+        this.password = password;
+        this.email = email;
+    }
+}
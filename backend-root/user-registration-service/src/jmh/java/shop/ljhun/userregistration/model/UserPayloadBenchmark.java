@@ -0,0 +1,50 @@
+package shop.ljhun.userregistration.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// UserController의 요청 처리 앞단 비용: JSON -> User 바인딩, Map.of 응답 생성/직렬화
+// bindMap은 같은 JSON을 로그인 서비스처럼 Map<String,String>으로 받는 경우와의 비교용
+// Bean Validation 비용은 UserValidationBenchmark 참고
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserPayloadBenchmark {
+
+    private static final TypeReference<Map<String, String>> MAP_TYPE = new TypeReference<>() { };
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        payload = "{\"username\":\"user42\",\"password\":\"Passw0rd!42\",\"email\":\"user42@example.com\"}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public User bindUser() throws Exception {
+        return objectMapper.readValue(payload, User.class);
+    }
+
+    @Benchmark
+    public Map<String, String> bindMap() throws Exception {
+        return objectMapper.readValue(payload, MAP_TYPE);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildCreatedBody() {
+        return Map.of("success", true, "message", "User registered successfully");
+    }
+
+    @Benchmark
+    public byte[] writeCreatedBody() throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of("success", true, "message", "User registered successfully"));
+    }
+}
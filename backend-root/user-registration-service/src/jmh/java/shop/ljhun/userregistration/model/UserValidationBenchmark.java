@@ -0,0 +1,61 @@
+package shop.ljhun.userregistration.model;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// User 검증 비용: 단일 순회 validator(@ValidPassword, @ValidEmail) vs 이전 정규식(@Pattern, @Email)
+// - valid / weak: 일반적인 정상 요청, 규칙 위반 요청
+// - long1k / long1m: 특수문자 없는 긴 비밀번호 (정규식은 lookahead마다 끝까지 훑고, 새 validator는 길이만 보고 거절)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserValidationBenchmark {
+
+    @Param({"valid", "weak", "long1k", "long1m"})
+    public String input;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private User user;
+    private RegexUser regexUser;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        String password = switch (input) {
+            case "valid" -> "Passw0rd!42";
+            case "weak" -> "password";
+            case "long1k" -> "a1".repeat(512);
+            case "long1m" -> "a1".repeat(512 * 1024);
+            default -> throw new IllegalArgumentException(input);
+        };
+        user = new User();
+        user.setUsername("user42");
+        user.setPassword(password);
+        user.setEmail("user42@example.com");
+        regexUser = new RegexUser("user42", password, "user42@example.com");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> singlePass() {
+        return validator.validate(user);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegexUser>> regex() {
+        return validator.validate(regexUser);
+    }
+}
@@ -0,0 +1,77 @@
+package shop.ljhun.userregistration.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import shop.ljhun.userregistration.BenchmarkDatabase;
+import shop.ljhun.userregistration.config.FailoverDataSource;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
+import shop.ljhun.userregistration.model.User;
+
+import java.sql.Connection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 회원가입 경로의 DB 비용을 커넥션 획득 / 중복 조회 / INSERT(성공, UNIQUE 위반)로 나눠서 측정 (H2 MODE=MySQL 대용 DB)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRepositoryBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+
+    @Param({"10"})
+    public int poolSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private HikariDataSource dataSource;
+    private UserRepository repository;
+
+    @Setup
+    public void setUp() throws Exception {
+        dataSource = BenchmarkDatabase.start("registration_bench", poolSize);
+        BenchmarkDatabase.seedUsers(dataSource, USER_COUNT);
+        repository = new UserRepository();
+        // standby 없이 primary 하나만 (circuit breaker 판단 비용만 포함)
+        ReflectionTestUtils.setField(repository, "dataSource", new FailoverDataSource(dataSource, null, 3, 1000, 1, false, null));
+        ReflectionTestUtils.setField(repository, "registrationMetrics", new RegistrationMetrics(new SimpleMeterRegistry()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean acquireConnection() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            return conn.isClosed();
+        }
+    }
+
+    @Benchmark
+    public boolean existsByUsername() {
+        return repository.existsByUsername("user" + ThreadLocalRandom.current().nextInt(USER_COUNT));
+    }
+
+    @Benchmark
+    public SaveResult saveNewUser() {
+        return repository.save(user("new" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public SaveResult saveDuplicateUser() {
+        return repository.save(user("user" + ThreadLocalRandom.current().nextInt(USER_COUNT)));
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("$2a$10$" + "a".repeat(53));
+        user.setEmail(username + "@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,239 @@
+package shop.ljhun.userregistration.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.SaveResult;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// RegistrationJournal 복구 검사: 임시 디렉터리에 journal을 열고 기록 -> 비정상 종료 -> 같은 디렉터리로 다시 열어 replay 결과를 확인
+// 비정상 종료는 flusher만 멈추고 stop()의 마지막 force/정리를 하지 않는 것으로 흉내 냄 (kill -9 후 재시작한 파드와 같은 상태)
+// - checkpoint 이후 record만, 쓰인 순서대로 replay되는지
+// - commit 전에 죽으면 같은 record가 다시 replay되는지 (at-least-once, DB 쪽은 자기 자신과의 DUPLICATE로 처리)
+// - 기록되다 만 record(torn write)와 CRC가 맞지 않는 record에서 segment가 끝나는지
+// - dead-letter.log에 같은 형식으로 남는지
+public class JournalRecoveryCheck {
+
+    private static final String HASH = "$2a$10$" + "a".repeat(53);
+    // record 하나가 약 100바이트: segment 하나에 두 개씩 들어가도록 작게 잡아 segment 전환/삭제도 거치게 함
+    private static final int SEGMENT_BYTES = 256;
+
+    @FunctionalInterface
+    interface Check {
+        void run(Path dir) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Check> checks = new LinkedHashMap<>();
+        checks.put("replays in append order across segments", JournalRecoveryCheck::replaysInOrder);
+        checks.put("resumes from the checkpoint after a crash", JournalRecoveryCheck::resumesFromCheckpoint);
+        checks.put("replays an uncommitted batch again after a crash", JournalRecoveryCheck::replaysUncommittedBatch);
+        checks.put("drops a torn record at the end of a segment", JournalRecoveryCheck::dropsTornRecord);
+        checks.put("stops a segment at a record with a bad CRC", JournalRecoveryCheck::stopsAtBadCrc);
+        checks.put("writes dead letters in the journal record format", JournalRecoveryCheck::writesDeadLetters);
+
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Check> check : checks.entrySet()) {
+            Path dir = Files.createTempDirectory("journal-check");
+            try {
+                check.getValue().run(dir);
+                System.out.printf("[OK] %s%n", check.getKey());
+            } catch (Exception | AssertionError e) {
+                System.out.printf("[FAILED] %s%n  %s%n", check.getKey(), e);
+                failures.add(check.getKey() + ": " + e.getMessage());
+            } finally {
+                delete(dir);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Journal recovery check failed:\n- " + String.join("\n- ", failures));
+        }
+    }
+
+    private static void replaysInOrder(Path dir) throws Exception {
+        RegistrationJournal journal = open(dir);
+        List<String> written = append(journal, 0, 10);
+
+        List<String> replayed = new ArrayList<>();
+        while (journal.backlog() > 0) {
+            replayed.addAll(replay(journal, 3, true));
+        }
+        expect(written, replayed, "replayed usernames");
+        // checkpoint보다 앞선 segment는 삭제되고 쓰는 중인 segment만 남음
+        expect(1, segments(dir).size(), "segment files left after replay");
+        journal.stop();
+    }
+
+    private static void resumesFromCheckpoint(Path dir) throws Exception {
+        RegistrationJournal journal = open(dir);
+        List<String> written = append(journal, 0, 6);
+        replay(journal, 4, true);
+        crash(journal);
+
+        RegistrationJournal reopened = open(dir);
+        expect(2, reopened.backlog(), "backlog after restart");
+        expect(written.subList(4, 6), replay(reopened, Integer.MAX_VALUE, true), "replayed usernames after restart");
+        reopened.stop();
+    }
+
+    private static void replaysUncommittedBatch(Path dir) throws Exception {
+        RegistrationJournal journal = open(dir);
+        List<String> written = append(journal, 0, 3);
+        replay(journal, 3, false);
+        crash(journal);
+
+        RegistrationJournal reopened = open(dir);
+        expect(written, replay(reopened, Integer.MAX_VALUE, true), "replayed usernames after restart");
+        reopened.stop();
+    }
+
+    private static void dropsTornRecord(Path dir) throws Exception {
+        RegistrationJournal journal = open(dir);
+        List<String> written = append(journal, 0, 1);
+        crash(journal);
+
+        // 응답하지 못한 다음 record가 길이/CRC까지만 쓰이고 payload 중간에서 끊긴 상태
+        byte[] torn = RegistrationJournal.encode(user("torn"));
+        write(lastSegment(dir), RegistrationJournal.encode(user("user0")).length,
+                ByteBuffer.wrap(torn, 0, torn.length / 2));
+
+        RegistrationJournal reopened = open(dir);
+        expect(false, reopened.isPending("torn"), "torn username pending");
+        List<String> after = append(reopened, 1, 2);
+        List<String> expected = new ArrayList<>(written);
+        expected.addAll(after);
+        expect(expected, replay(reopened, Integer.MAX_VALUE, true), "replayed usernames after restart");
+        reopened.stop();
+    }
+
+    private static void stopsAtBadCrc(Path dir) throws Exception {
+        RegistrationJournal journal = open(dir);
+        List<String> written = append(journal, 0, 2);
+        crash(journal);
+
+        // segment 하나에 record 두 개: 두 번째 record의 payload 마지막 바이트를 바꿈
+        Path segment = segments(dir).get(0);
+        int first = RegistrationJournal.encode(user("user0")).length;
+        int second = RegistrationJournal.encode(user("user1")).length;
+        ByteBuffer lastByte = ByteBuffer.allocate(1);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.read(lastByte, first + second - 1);
+        }
+        write(segment, first + second - 1, ByteBuffer.wrap(new byte[]{(byte) (lastByte.get(0) ^ 0x01)}));
+
+        RegistrationJournal reopened = open(dir);
+        expect(written.subList(0, 1), replay(reopened, Integer.MAX_VALUE, true), "replayed usernames after restart");
+        reopened.stop();
+    }
+
+    private static void writesDeadLetters(Path dir) throws Exception {
+        RegistrationJournal journal = open(dir);
+        journal.deadLetter(user("poison0"));
+        journal.deadLetter(user("poison1"));
+        journal.stop();
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(dir.resolve("dead-letter.log")));
+        List<String> usernames = new ArrayList<>();
+        int offset = 0;
+        User user;
+        while ((user = RegistrationJournal.decode(file, offset, file.capacity())) != null) {
+            usernames.add(user.getUsername());
+            offset += RegistrationJournal.encode(user).length;
+        }
+        expect(List.of("poison0", "poison1"), usernames, "dead letter usernames");
+        expect(file.capacity(), offset, "dead letter bytes decoded");
+    }
+
+    private static RegistrationJournal open(Path dir) throws Exception {
+        RegistrationJournal journal = new RegistrationJournal();
+        ReflectionTestUtils.setField(journal, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentBytes", SEGMENT_BYTES);
+        ReflectionTestUtils.setField(journal, "fsyncIntervalMs", 1L);
+        ReflectionTestUtils.setField(journal, "timeoutMs", 2000L);
+        journal.start();
+        return journal;
+    }
+
+    // flusher만 멈추고 마지막 force/checkpoint 정리는 하지 않음
+    private static void crash(RegistrationJournal journal) throws Exception {
+        ReflectionTestUtils.setField(journal, "running", false);
+        ((Thread) ReflectionTestUtils.getField(journal, "flusher")).join();
+        ((FileChannel) ReflectionTestUtils.getField(journal, "checkpointChannel")).close();
+    }
+
+    private static List<String> append(RegistrationJournal journal, int from, int to) {
+        List<String> usernames = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            String username = "user" + i;
+            SaveResult result = journal.append(user(username));
+            expect(SaveResult.ACCEPTED, result, "append result for " + username);
+            usernames.add(username);
+        }
+        return usernames;
+    }
+
+    // JournalReplayer 한 바퀴: readBatch 후 (DB 반영이 끝났다고 보고) commit
+    private static List<String> replay(RegistrationJournal journal, int max, boolean commit) throws Exception {
+        RegistrationJournal.Batch batch = journal.readBatch(max);
+        if (commit) {
+            journal.commit(batch);
+        }
+        return batch.users().stream().map(User::getUsername).toList();
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(HASH);
+        user.setEmail(username + "@example.com");
+        return user;
+    }
+
+    private static void write(Path segment, long position, ByteBuffer bytes) throws Exception {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static List<Path> segments(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private static Path lastSegment(Path dir) throws Exception {
+        List<Path> segments = segments(dir);
+        return segments.get(segments.size() - 1);
+    }
+
+    private static void expect(Object expected, Object actual, String what) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static void delete(Path dir) throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
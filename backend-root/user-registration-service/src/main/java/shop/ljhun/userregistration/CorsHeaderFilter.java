@@ -1,10 +1,18 @@
 package shop.ljhun.userregistration;
 
 import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 // ✅ @Component: Spring이 이 클래스를 Bean으로 자동 등록하도록 지시하는 애너테이션
 // - 클래스 단위로 적용됨 (즉, 이 클래스 전체가 Bean으로 등록됨)
@@ -22,8 +30,27 @@ import java.io.IOException;
 // ⛔ 해결 방법 필요	수동으로 FilterRegistrationBean을 통해 명시적으로 등록해야 함.
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+// ConcurrencyLimitFilter보다 먼저: preflight는 제한 없이 응답하고, 503에도 CORS 헤더가 붙도록
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
 public class CorsHeaderFilter implements Filter {
 
+    private static final String ALLOWED_METHODS = "GET, POST, OPTIONS";
+    private static final String ALLOWED_HEADERS = "content-type, authorization";
+
+    private final Set<String> allowedOrigins;
+    private final String maxAge;
+
+    // 허용할 도메인 목록은 CORS_ALLOWED_ORIGINS(쉼표 구분)로 설정, 요청마다 HashSet 조회 한 번으로 판정
+    public CorsHeaderFilter(@Value("${CORS_ALLOWED_ORIGINS:https://www.ljhun.shop,https://ljhun.shop}") String origins,
+                            @Value("${CORS_MAX_AGE_SECONDS:3600}") long maxAgeSeconds) {
+        this.allowedOrigins = Arrays.stream(origins.split(","))
+                .map(String::trim)
+                .filter(origin -> !origin.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.maxAge = String.valueOf(maxAgeSeconds);
+    }
+
     // ✅ doFilter: 모든 HTTP 요청이 Controller에 도달하기 전에 이 메서드를 거침
     // - Servlet Filter 인터페이스의 핵심 메서드
     // - 요청(Request)과 응답(Response)을 가로채서 가공하거나 조건에 따라 차단, 로깅 등을 할 수 있음
@@ -32,16 +59,33 @@ public class CorsHeaderFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
+        HttpServletRequest req = (HttpServletRequest) request;
         HttpServletResponse res = (HttpServletResponse) response;
-        String origin = ((jakarta.servlet.http.HttpServletRequest) request).getHeader("Origin");
+        String origin = req.getHeader("Origin");
+        if (origin == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        // 허용할 도메인 목록
-        if ("https://www.ljhun.shop".equals(origin) || "https://ljhun.shop".equals(origin)) {
+        res.setHeader("Vary", "Origin");
+        boolean allowed = allowedOrigins.contains(origin);
+        if (allowed) {
             res.setHeader("Access-Control-Allow-Origin", origin); // 요청 Origin을 그대로 echo
             res.setHeader("Access-Control-Allow-Credentials", "true");
-            res.setHeader("Access-Control-Allow-Methods", "GET, POST, OPTIONS");
-            res.setHeader("Access-Control-Allow-Headers", "content-type, authorization");
-            res.setHeader("Vary", "Origin");
+            res.setHeader("Access-Control-Allow-Methods", ALLOWED_METHODS);
+            res.setHeader("Access-Control-Allow-Headers", ALLOWED_HEADERS);
+        }
+
+        // Preflight(OPTIONS + Access-Control-Request-Method)는 DispatcherServlet까지 보내지 않고 여기서 바로 응답
+        // Access-Control-Max-Age 동안 브라우저가 preflight 결과를 캐시하므로 POST마다 OPTIONS가 나가지 않음
+        if ("OPTIONS".equals(req.getMethod()) && req.getHeader("Access-Control-Request-Method") != null) {
+            if (allowed) {
+                res.setHeader("Access-Control-Max-Age", maxAge);
+                res.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            } else {
+                res.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            }
+            return;
         }
 
         chain.doFilter(request, response); //처리한 요청에 대해 다음단계로 자동 진행
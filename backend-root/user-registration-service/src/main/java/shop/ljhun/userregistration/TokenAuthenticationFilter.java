@@ -0,0 +1,40 @@
+package shop.ljhun.userregistration;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userregistration.security.TokenService;
+
+import java.io.IOException;
+
+// Authorization: Bearer <access token> 을 DB 조회 없이 메모리에서 검증하고,
+// 유효하면 username을 request attribute로 넘겨줌 (인증이 필요한 핸들러는 이 attribute만 확인)
+// 토큰이 없거나 유효하지 않아도 요청은 그대로 통과 (로그인/가입 같은 공개 API가 막히지 않도록)
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TokenAuthenticationFilter implements Filter {
+
+    public static final String AUTHENTICATED_USER = "authenticatedUser";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        String authorization = ((HttpServletRequest) request).getHeader("Authorization");
+        if (authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            String username = tokenService.verify(authorization.substring(BEARER_PREFIX.length()), TokenService.ACCESS);
+            if (username != null) {
+                request.setAttribute(AUTHENTICATED_USER, username);
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+}
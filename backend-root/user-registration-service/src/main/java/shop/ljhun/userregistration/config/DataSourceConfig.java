@@ -0,0 +1,185 @@
+package shop.ljhun.userregistration.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 요청마다 DriverManager로 새 커넥션(TCP + MySQL handshake)을 맺지 않도록 HikariCP 커넥션 풀을 Bean으로 등록
+// 풀 지표(active, idle, pending, acquire 대기시간)는 풀마다 hikaricp.* 메트릭으로 노출 (/actuator/metrics, pool 태그로 구분)
+// DB_STANDBY_HOST(또는 DB_STANDBY_JDBC_URL)를 지정하면 primary 장애 시 standby로 넘어감 (FailoverDataSource)
+// servlet 모드 전용: WEB_STACK=reactive 이면 R2DBC 풀(ReactiveConfig)만 쓰므로 JDBC 풀, 장애 감시 스레드, 워밍업을 만들지 않음
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Value("${DB_HOST:localhost}")
+    private String dbHost;
+
+    @Value("${DB_USER:root}")
+    private String dbUser;
+
+    @Value("${DB_PASSWORD:pass1234}")
+    private String dbPassword;
+
+    @Value("${DB_NAME:userdb}")
+    private String dbName;
+
+    // 지정하면 DB_HOST/DB_NAME 대신 이 JDBC URL을 그대로 사용 (부하 테스트용 로컬 DB 등)
+    @Value("${DB_JDBC_URL:}")
+    private String jdbcUrl;
+
+    @Value("${DB_POOL_MAX_SIZE:10}")
+    private int maxPoolSize;
+
+    @Value("${DB_POOL_MIN_IDLE:4}")
+    private int minIdle;
+
+    // 장애 시 요청이 오래 묶이지 않도록 짧게: 풀 대기 / TCP 연결 / 쿼리(소켓 읽기) 각각의 상한
+    @Value("${DB_POOL_CONNECTION_TIMEOUT_MS:1000}")
+    private long connectionTimeoutMs;
+
+    @Value("${DB_CONNECT_TIMEOUT_MS:500}")
+    private long connectTimeoutMs;
+
+    @Value("${DB_QUERY_TIMEOUT_MS:2000}")
+    private long queryTimeoutMs;
+
+    @Value("${DB_POOL_VALIDATION_TIMEOUT_MS:1000}")
+    private long validationTimeoutMs;
+
+    @Value("${DB_POOL_LEAK_DETECTION_MS:10000}")
+    private long leakDetectionMs;
+
+    @Value("${DB_POOL_MAX_LIFETIME_MS:1800000}")
+    private long maxLifetimeMs;
+
+    @Value("${DB_POOL_KEEPALIVE_MS:60000}")
+    private long keepaliveMs;
+
+    // standby: 비워 두면 사용하지 않음, 계정/DB 이름은 지정하지 않으면 primary와 같음
+    @Value("${DB_STANDBY_HOST:}")
+    private String standbyHost;
+
+    @Value("${DB_STANDBY_JDBC_URL:}")
+    private String standbyJdbcUrl;
+
+    @Value("${DB_STANDBY_USER:${DB_USER:root}}")
+    private String standbyUser;
+
+    @Value("${DB_STANDBY_PASSWORD:${DB_PASSWORD:pass1234}}")
+    private String standbyPassword;
+
+    @Value("${DB_STANDBY_NAME:${DB_NAME:userdb}}")
+    private String standbyName;
+
+    // DB_CIRCUIT_WINDOW_MS 안에 커넥션/쿼리 실패가 DB_CIRCUIT_FAILURE_THRESHOLD번 이상이면 해당 엔드포인트를 끊음
+    // 실패 하나가 최대 max(풀 대기, 쿼리 타임아웃)만큼 걸리므로 window는 최소 threshold x 그 시간으로 늘려서 씀
+    // (더 짧으면 요청이 적을 때 차례로 타임아웃되는 실패가 한 window에 threshold만큼 모이지 못해 끊기지 않음)
+    @Value("${DB_CIRCUIT_FAILURE_THRESHOLD:3}")
+    private int circuitFailureThreshold;
+
+    @Value("${DB_CIRCUIT_WINDOW_MS:1000}")
+    private long circuitWindowMs;
+
+    // open된 엔드포인트 재확인 간격
+    @Value("${DB_FAILOVER_PROBE_MS:500}")
+    private long failoverProbeMs;
+
+    // primary 장애 시 쓰기도 standby로 넘길지: true여도 standby가 승격(@@global.read_only = 0)된 경우에만 씀
+    @Value("${DB_STANDBY_WRITES:false}")
+    private boolean standbyWrites;
+
+    @Bean(destroyMethod = "close")
+    public FailoverDataSource dataSource(MeterRegistry meterRegistry) {
+        HikariDataSource primary = createPool("user-registration-pool",
+                jdbcUrl.isBlank() ? "jdbc:mysql://" + dbHost + ":3306/" + dbName : jdbcUrl,
+                dbUser, dbPassword, minIdle, meterRegistry);
+
+        // standby는 장애 전환 시 handshake 없이 바로 쓸 수 있도록 커넥션 1개만 유지
+        HikariDataSource standby = null;
+        if (!standbyHost.isBlank() || !standbyJdbcUrl.isBlank()) {
+            standby = createPool("user-registration-standby-pool",
+                    standbyJdbcUrl.isBlank() ? "jdbc:mysql://" + standbyHost + ":3306/" + standbyName : standbyJdbcUrl,
+                    standbyUser, standbyPassword, 1, meterRegistry);
+        }
+        long slowestFailureMs = Math.max(connectionTimeoutMs, queryTimeoutMs);
+        long windowMs = Math.max(circuitWindowMs, circuitFailureThreshold * slowestFailureMs);
+        FailoverDataSource dataSource = new FailoverDataSource(primary, standby, circuitFailureThreshold, windowMs,
+                (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(validationTimeoutMs)), standbyWrites, meterRegistry);
+        dataSource.startProbing(failoverProbeMs);
+        return dataSource;
+    }
+
+    private HikariDataSource createPool(String poolName, String url, String user, String password,
+                                        int idle, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(Math.min(idle, maxPoolSize));
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setValidationTimeout(validationTimeoutMs);
+        config.setLeakDetectionThreshold(leakDetectionMs);
+        config.setMaxLifetime(maxLifetimeMs);
+        config.setKeepaliveTime(keepaliveMs);
+
+        // DB가 아직 안 떠 있어도 파드는 기동되도록 (기존 동작 유지), 연결은 워밍업/첫 요청에서 시도
+        config.setInitializationFailTimeout(-1);
+
+        // MySQL Connector/J 권장 설정: PreparedStatement 캐시 + 서버 측 prepare
+        if (config.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "64");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "512");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            // 드라이버 기본값(무제한)에 기대지 않도록 연결/소켓 읽기 타임아웃 지정 (ms)
+            config.addDataSourceProperty("connectTimeout", String.valueOf(connectTimeoutMs));
+            config.addDataSourceProperty("socketTimeout", String.valueOf(queryTimeoutMs));
+        }
+        return new HikariDataSource(config);
+    }
+
+    // 기동 직후 minimumIdle 개수만큼 커넥션을 미리 열어 첫 요청이 handshake 비용을 내지 않도록 함
+    @Bean
+    public ApplicationRunner connectionPoolWarmup(FailoverDataSource failoverDataSource) {
+        return args -> {
+            HikariDataSource dataSource = failoverDataSource.getPrimary();
+            List<Connection> warmed = new ArrayList<>();
+            try {
+                for (int i = 0; i < dataSource.getMinimumIdle(); i++) {
+                    warmed.add(dataSource.getConnection());
+                }
+                log.info("Connection pool {} warmed up with {} connections", dataSource.getPoolName(), warmed.size());
+            } catch (SQLException e) {
+                log.warn("Connection pool warm-up failed after {} connections: {}", warmed.size(), e.getMessage());
+            } finally {
+                for (Connection conn : warmed) {
+                    try {
+                        conn.close();
+                    } catch (SQLException ignored) {
+                    }
+                }
+            }
+        };
+    }
+}
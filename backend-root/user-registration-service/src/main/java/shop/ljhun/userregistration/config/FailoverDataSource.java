@@ -0,0 +1,290 @@
+package shop.ljhun.userregistration.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// primary / standby(다른 클라우드의 DMS 복제 대상 DB) 두 커넥션 풀 앞에 두는 DataSource
+// - 엔드포인트마다 circuit breaker: window 안에서 커넥션/쿼리 실패가 threshold 이상이면 open
+// - open된 엔드포인트는 건너뛰고 다음 엔드포인트(standby)로 바로 감 → 요청이 connect timeout을 기다리지 않음
+// - 쓰기(getWriteConnection)는 standby로 넘기지 않음: DMS가 아직 복제 중인 standby에 쓰면 두 DB가 갈라짐(split-brain)
+//   DB_STANDBY_WRITES=true이고 standby가 @@global.read_only = 0 (운영자가 승격)일 때만 standby에 씀
+// - open된 엔드포인트는 전용 스레드가 주기적으로 확인해서 응답하면 다시 사용
+//   단 standby가 승격된 동안에는 primary로 자동 복귀하지 않음 (standby를 다시 read_only로 바꾸거나 DB_HOST를 바꿔 재배포해야 복귀)
+// standby를 설정하지 않으면 primary 하나에 대한 circuit breaker로만 동작
+public class FailoverDataSource implements DataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(FailoverDataSource.class);
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final int probeTimeoutSeconds;
+    private final boolean standbyWrites;
+
+    // primary가 open인 동안 probe가 확인한 standby 승격 여부 (쓰기 전환과 primary 자동 복귀 판단에 사용)
+    private volatile boolean standbyWritable;
+
+    // 다른 @Scheduled 작업(복제 지연 검사 등)과 스케줄러 스레드를 나눠 쓰지 않도록 전용 스레드
+    private ScheduledExecutorService prober;
+
+    public FailoverDataSource(HikariDataSource primary, HikariDataSource standby,
+                              int failureThreshold, long failureWindowMs, int probeTimeoutSeconds,
+                              boolean standbyWrites, MeterRegistry meterRegistry) {
+        endpoints.add(new Endpoint("primary", primary, failureThreshold, failureWindowMs));
+        if (standby != null) {
+            endpoints.add(new Endpoint("standby", standby, failureThreshold, failureWindowMs));
+        }
+        this.probeTimeoutSeconds = probeTimeoutSeconds;
+        this.standbyWrites = standbyWrites && standby != null;
+        if (meterRegistry != null) {
+            for (Endpoint endpoint : endpoints) {
+                meterRegistry.gauge("db.circuit.open", Tags.of("endpoint", endpoint.name), endpoint, e -> e.open ? 1 : 0);
+            }
+            if (standby != null) {
+                meterRegistry.gauge("db.standby.writable", this, ds -> ds.standbyWritable ? 1 : 0);
+            }
+        }
+    }
+
+    public void startProbing(long probeIntervalMs) {
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-failover-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(() -> {
+            try {
+                probe();
+            } catch (RuntimeException e) {
+                log.warn("Database failover probe failed: {}", e.toString());
+            }
+        }, probeIntervalMs, probeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public HikariDataSource getPrimary() {
+        return endpoints.get(0).pool;
+    }
+
+    // 조회용: primary가 끊기면 standby에서 읽음
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(false);
+    }
+
+    // INSERT/UPDATE용: standby는 승격된 경우(DB_STANDBY_WRITES=true, read_only = 0)에만 사용
+    public Connection getWriteConnection() throws SQLException {
+        return connect(true);
+    }
+
+    private Connection connect(boolean write) throws SQLException {
+        SQLException last = null;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.open || (write && endpoint != endpoints.get(0) && !standbyWritable)) {
+                continue;
+            }
+            try {
+                return endpoint.tag(endpoint.pool.getConnection());
+            } catch (SQLException e) {
+                // 원인 없는 타임아웃은 DB 장애가 아니라 풀 고갈(부하)이므로 standby로 넘기지 않음
+                if (e.getCause() == null) {
+                    throw e;
+                }
+                endpoint.recordFailure();
+                last = e;
+            }
+        }
+        if (last != null) {
+            throw last;
+        }
+        throw new SQLTransientConnectionException(write
+                ? "No writable database endpoint available (primary circuit open, standby not promoted)"
+                : "No database endpoint available (all circuits open)", "08001");
+    }
+
+    // 커넥션을 받은 뒤 쿼리에서 난 오류: 연결/타임아웃 계열만 그 커넥션을 준 엔드포인트의 실패로 집계
+    // (중복 키 등 데이터 오류는 DB 상태와 무관하므로 제외, 이 DataSource가 준 커넥션이 아니면 무시)
+    public void recordFailure(Connection conn, SQLException e) {
+        if (isConnectionFailure(e) && conn != null && Proxy.isProxyClass(conn.getClass())
+                && Proxy.getInvocationHandler(conn) instanceof TaggedConnection tagged) {
+            tagged.endpoint.recordFailure();
+        }
+    }
+
+    void probe() {
+        Endpoint primary = endpoints.get(0);
+        if (standbyWrites) {
+            boolean writable = primary.open && isWritable(endpoints.get(1));
+            if (writable != standbyWritable) {
+                log.warn("Standby {} for writes", writable ? "promoted (read_only = 0), used" : "no longer used");
+            }
+            standbyWritable = writable;
+        }
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.open || (endpoint == primary && standbyWritable)) {
+                continue;
+            }
+            try (Connection conn = endpoint.pool.getConnection()) {
+                if (conn.isValid(probeTimeoutSeconds)) {
+                    endpoint.close();
+                    log.info("Database endpoint {} recovered, circuit closed", endpoint.name);
+                }
+            } catch (SQLException e) {
+                log.debug("Database endpoint {} still unavailable: {}", endpoint.name, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isWritable(Endpoint endpoint) {
+        if (endpoint.open) {
+            return false;
+        }
+        try (Connection conn = endpoint.pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT @@global.read_only")) {
+            return rs.next() && rs.getInt(1) == 0;
+        } catch (SQLException e) {
+            log.debug("Read-only check on {} failed: {}", endpoint.name, e.getMessage());
+            return false;
+        }
+    }
+
+    // SQLState 08xxx(connection exception), 타임아웃, 풀 대기 초과
+    static boolean isConnectionFailure(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTimeoutException
+                || e instanceof SQLTransientConnectionException
+                || e instanceof SQLRecoverableException
+                || (state != null && state.startsWith("08"));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per endpoint");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return getPrimary().getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        getPrimary().setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        getPrimary().setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return getPrimary().getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    // 풀 지표는 DataSourceConfig에서 풀마다 직접 등록하므로 내부 HikariDataSource는 노출하지 않음
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    public void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+        endpoints.forEach(e -> e.pool.close());
+    }
+
+    // 커넥션이 어느 엔드포인트에서 왔는지 기록 (recordFailure가 그 사이 전환된 다른 엔드포인트를 탓하지 않도록)
+    private record TaggedConnection(Endpoint endpoint, Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class Endpoint {
+
+        final String name;
+        final HikariDataSource pool;
+        final int failureThreshold;
+        final long failureWindowNanos;
+
+        // 연속 실패가 아니라 window 안의 실패 수로 판단: 커넥션은 받아도 쿼리가 타임아웃되는 느린 DB도 잡기 위해
+        // (동시에 window를 초기화하는 경합으로 일부 실패가 빠질 수 있지만 판정에는 영향 없음)
+        final AtomicInteger failures = new AtomicInteger();
+        volatile long windowStart = System.nanoTime();
+        volatile boolean open;
+
+        Endpoint(String name, HikariDataSource pool, int failureThreshold, long failureWindowMs) {
+            this.name = name;
+            this.pool = pool;
+            this.failureThreshold = failureThreshold;
+            this.failureWindowNanos = TimeUnit.MILLISECONDS.toNanos(failureWindowMs);
+        }
+
+        Connection tag(Connection conn) {
+            return (Connection) Proxy.newProxyInstance(FailoverDataSource.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new TaggedConnection(this, conn));
+        }
+
+        void recordFailure() {
+            long now = System.nanoTime();
+            if (now - windowStart > failureWindowNanos) {
+                windowStart = now;
+                failures.set(0);
+            }
+            if (failures.incrementAndGet() >= failureThreshold && !open) {
+                open = true;
+                log.warn("Database endpoint {} failed {} times within {} ms, circuit opened",
+                        name, failureThreshold, TimeUnit.NANOSECONDS.toMillis(failureWindowNanos));
+            }
+        }
+
+        void close() {
+            failures.set(0);
+            windowStart = System.nanoTime();
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package shop.ljhun.userregistration.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import shop.ljhun.userregistration.journal.JournalReplayer;
+import shop.ljhun.userregistration.journal.RegistrationJournal;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
+import shop.ljhun.userregistration.repository.DatabaseReadiness;
+import shop.ljhun.userregistration.service.UsernameIndex;
+
+// LAZY_INIT=true(기본 false)이면 Bean은 처음 쓰일 때 생성되지만, 아래 Bean은 기동 시점에 바로 생성
+// - FailoverDataSource: 장애 감시 스레드는 Bean이 생성되어야 시작됨
+// - RegistrationJournal, JournalReplayer: 재기동 전에 쌓인 저널은 요청이 없어도 바로 DB에 반영해야 함
+// - UsernameIndex: 최초 전체 로딩(@Scheduled sync)이 첫 가입 요청 전에 시작되도록
+// - RegistrationMetrics: 미리 등록해 두는 지표가 첫 요청 전에도 /actuator/prometheus 에 보이도록
+// - DatabaseReadiness: 첫 /readyz 요청 전에 DB 검사를 시작해야 파드가 ready가 됨
+// 필터와 ApplicationRunner(커넥션 풀 워밍업)는 lazy 설정과 관계없이 기동 시 생성됨
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FailoverDataSource.class, DatabaseReadiness.class,
+                RegistrationJournal.class, JournalReplayer.class, UsernameIndex.class, RegistrationMetrics.class);
+    }
+}
@@ -0,0 +1,54 @@
+package shop.ljhun.userregistration.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import shop.ljhun.userregistration.service.UserImporter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// 운영자용 API: X-Admin-Token 헤더가 REGISTRATION_ADMIN_TOKEN과 같을 때만 허용 (값을 설정하지 않으면 비활성, 404)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequestMapping("/app-one/admin")
+public class AdminController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private UserImporter userImporter;
+
+    @Value("${REGISTRATION_ADMIN_TOKEN:}")
+    private String adminToken;
+
+    // 요청 본문을 읽는 대로 처리하고 결과를 NDJSON으로 바로 흘려보냄 (본문 전체를 메모리에 올리지 않음)
+    // curl -H 'X-Admin-Token: ...' -H 'Content-Type: text/csv' --data-binary @users.csv .../app-one/admin/users/import
+    @PostMapping(value = "/users/import", consumes = {NDJSON, "text/csv"})
+    public void importUsers(@RequestHeader(name = "X-Admin-Token", required = false) String token,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (adminToken.isBlank()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), adminToken.getBytes(StandardCharsets.UTF_8))) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+
+        UserImporter.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(NDJSON))
+                ? UserImporter.Format.NDJSON
+                : UserImporter.Format.CSV;
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        userImporter.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+}
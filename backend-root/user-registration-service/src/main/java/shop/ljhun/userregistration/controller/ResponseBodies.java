@@ -0,0 +1,62 @@
+package shop.ljhun.userregistration.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 내용이 고정된 JSON 응답은 기동 시 한 번만 직렬화해 두고 요청마다 byte[]를 그대로 씀
+// (byte[] 본문은 ByteArrayHttpMessageConverter가 복사 없이 출력하므로 Map 생성/Jackson 직렬화가 없음)
+public final class ResponseBodies {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static final byte[] HEALTH_PASSED = body(true, "message", "Health Check Passed");
+    public static final byte[] REGISTERED = body(true, "message", "User registered successfully");
+    // write-behind 모드의 202: username을 아직 다른 파드/클라우드와 확정하지 못했으므로 나중에 거절될 수 있음
+    public static final byte[] REGISTRATION_ACCEPTED = body(true, "message",
+            "User registration accepted, it may still be rejected if the username is taken; check /app-one/register/status");
+    public static final byte[] USERNAME_EXISTS = body(false, "error", "Username already exists");
+    public static final byte[] REGISTRATION_FAILED = body(false, "error", "Registration failed");
+    public static final byte[] REGISTRATION_UNKNOWN = body(false, "error", "Registration outcome unknown, check username availability before retrying");
+    public static final byte[] SERVER_BUSY = body(false, "error", "Server busy");
+    public static final byte[] DATABASE_UNAVAILABLE = body(false, "error", "Database unavailable");
+    public static final byte[] BODY_TOO_LARGE = body(false, "error", "Request body too large");
+    public static final byte[] USERNAME_REQUIRED = body(false, "error", "username은 필수입니다.");
+    public static final byte[] USERNAME_AVAILABLE = body(true, "available", true);
+    public static final byte[] USERNAME_TAKEN = body(true, "available", false);
+    public static final byte[] STATUS_PARAMS_REQUIRED = body(false, "error", "username과 email은 필수입니다.");
+    public static final byte[] STATUS_REGISTERED = body(true, "status", "registered");
+    public static final byte[] STATUS_REJECTED = body(true, "status", "rejected");
+    public static final byte[] STATUS_PENDING = body(true, "status", "pending");
+
+    // 검증 실패 메시지는 User의 제약 annotation에 적힌 고정 문자열뿐이므로 메시지별로 한 번만 직렬화
+    private static final Map<String, byte[]> ERRORS = new ConcurrentHashMap<>();
+
+    private ResponseBodies() {
+    }
+
+    public static byte[] error(String message) {
+        return ERRORS.computeIfAbsent(message, m -> body(false, "error", m));
+    }
+
+    public static ResponseEntity<byte[]> json(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static byte[] body(boolean success, String key, Object value) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", success);
+        body.put(key, value);
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,22 +1,24 @@
 package shop.ljhun.userregistration.controller;
 
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
+import shop.ljhun.userregistration.metrics.RequestBodyTimingAdvice;
 import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.DatabaseUnavailableException;
+import shop.ljhun.userregistration.repository.RegistrationStatus;
+import shop.ljhun.userregistration.repository.SaveResult;
+import shop.ljhun.userregistration.security.PasswordHashingException;
 import shop.ljhun.userregistration.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
+import shop.ljhun.userregistration.validation.RequestBodyTooLargeException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.*;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
-@CrossOrigin(
-    origins = { "https://www.ljhun.shop", "https://ljhun.shop" },
-    allowedHeaders = "*",
-    allowCredentials = "true",
-    methods = { RequestMethod.GET, RequestMethod.POST, RequestMethod.OPTIONS }
-)
+// CORS는 CorsHeaderFilter에서만 처리 (MVC 레이어에서 중복 처리하지 않음)
+// WEB_STACK=reactive 배포에서는 reactive 패키지의 컨트롤러가 같은 경로를 담당
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequestMapping("/app-one")
 public class UserController {
@@ -24,28 +26,92 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    // ALB 헬스 체크 경로: 접근 로그는 AccessLogFilter에서 샘플링해서 남김
     @GetMapping("/register")
-    public ResponseEntity<?> registerHealthCheck(HttpServletRequest request) {
-        System.out.println("Health check received from: " + request.getHeader("X-Forwarded-For"));
-        System.out.println("User-Agent: " + request.getHeader("User-Agent"));
-        return ResponseEntity.ok(Map.of("success", true, "message", "Health Check Passed"));
+    public ResponseEntity<?> registerHealthCheck() {
+        return ResponseBodies.json(HttpStatus.OK, ResponseBodies.HEALTH_PASSED);
+    }
+
+    // 회원가입 화면에서 입력 중 username 사용 가능 여부 확인용 (UsernameIndex 기반이라 대부분 DB를 타지 않음)
+    @GetMapping("/register/available")
+    public ResponseEntity<?> checkUsernameAvailable(@RequestParam(required = false) String username) {
+        if (username == null || username.isBlank()) {
+            return ResponseBodies.json(HttpStatus.BAD_REQUEST, ResponseBodies.USERNAME_REQUIRED);
+        }
+        return ResponseBodies.json(HttpStatus.OK, userService.isUsernameTaken(username)
+                ? ResponseBodies.USERNAME_TAKEN
+                : ResponseBodies.USERNAME_AVAILABLE);
+    }
+
+    // write-behind 모드에서 202를 받은 가입의 결과 확인 (가입할 때 보낸 username + email)
+    @GetMapping("/register/status")
+    public ResponseEntity<?> registrationStatus(@RequestParam(required = false) String username,
+                                                @RequestParam(required = false) String email) {
+        if (username == null || username.isBlank() || email == null || email.isBlank()) {
+            return ResponseBodies.json(HttpStatus.BAD_REQUEST, ResponseBodies.STATUS_PARAMS_REQUIRED);
+        }
+        RegistrationStatus status = userService.findRegistrationStatus(username, email);
+        return ResponseBodies.json(HttpStatus.OK, switch (status) {
+            case REGISTERED -> ResponseBodies.STATUS_REGISTERED;
+            case REJECTED -> ResponseBodies.STATUS_REJECTED;
+            case PENDING -> ResponseBodies.STATUS_PENDING;
+        });
     }
 
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody User user, BindingResult bindingResult) {
+    public ResponseEntity<?> registerUser(@Valid @RequestBody User user, BindingResult bindingResult,
+                                          @RequestAttribute(name = RequestBodyTimingAdvice.BODY_READ_STARTED, required = false) Long bodyReadStarted) {
+        // 본문 읽기 시작 ~ 바인딩/검증 완료 (RequestBodyTimingAdvice 참고)
+        if (bodyReadStarted != null) {
+            registrationMetrics.recordStage(RegistrationMetrics.Stage.VALIDATION, System.nanoTime() - bodyReadStarted);
+        }
         if (bindingResult.hasErrors()) {
             String errorMsg = bindingResult.getFieldError().getDefaultMessage();
-            return ResponseEntity.badRequest().body(Map.of("success", false, "error", errorMsg));
+            return registrationMetrics.count(ResponseBodies.json(HttpStatus.BAD_REQUEST, ResponseBodies.error(errorMsg)));
         }
 
-        if (userService.isUsernameTaken(user.getUsername())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("success", false, "error", "Username already exists"));
+        SaveResult result = userService.registerUser(user);
+        if (result == SaveResult.DUPLICATE) {
+            return registrationMetrics.count(ResponseBodies.json(HttpStatus.CONFLICT, ResponseBodies.USERNAME_EXISTS));
+        }
+        if (result == SaveResult.FAILED) {
+            return registrationMetrics.count(ResponseBodies.json(HttpStatus.SERVICE_UNAVAILABLE, ResponseBodies.REGISTRATION_FAILED));
+        }
+        // 503과 달리 Retry-After 없음: 그대로 재시도하면 자기 가입에 409를 받을 수 있음
+        if (result == SaveResult.UNKNOWN) {
+            return registrationMetrics.count(ResponseBodies.json(HttpStatus.GATEWAY_TIMEOUT, ResponseBodies.REGISTRATION_UNKNOWN));
+        }
+        if (result == SaveResult.ACCEPTED) {
+            return registrationMetrics.count(ResponseBodies.json(HttpStatus.ACCEPTED, ResponseBodies.REGISTRATION_ACCEPTED));
         }
+        return registrationMetrics.count(ResponseBodies.json(HttpStatus.CREATED, ResponseBodies.REGISTERED));
+    }
+
+    // 해싱 워커 풀이 포화되면 요청 스레드를 붙잡지 않고 바로 503
+    @ExceptionHandler(PasswordHashingException.class)
+    public ResponseEntity<?> handleHashingOverload(PasswordHashingException e) {
+        return registrationMetrics.count(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ResponseBodies.SERVER_BUSY));
+    }
+
+    // 본문 크기 상한 초과 (RequestBodyLimitAdvice): 바인딩/검증 없이 413
+    @ExceptionHandler(RequestBodyTooLargeException.class)
+    public ResponseEntity<?> handleBodyTooLarge(RequestBodyTooLargeException e) {
+        return registrationMetrics.count(ResponseBodies.json(HttpStatus.PAYLOAD_TOO_LARGE, ResponseBodies.BODY_TOO_LARGE));
+    }
 
-        userService.registerUser(user);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(Map.of("success", true, "message", "User registered successfully"));
+    // username 조회 중 DB 장애: "사용 가능"으로 답하지 않고 503
+    @ExceptionHandler(DatabaseUnavailableException.class)
+    public ResponseEntity<?> handleDatabaseUnavailable(DatabaseUnavailableException e) {
+        return registrationMetrics.count(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ResponseBodies.DATABASE_UNAVAILABLE));
     }
     /*
     @RequestMapping(value = "/register", method = RequestMethod.OPTIONS)
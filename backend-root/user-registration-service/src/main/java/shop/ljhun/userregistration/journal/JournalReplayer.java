@@ -0,0 +1,237 @@
+package shop.ljhun.userregistration.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.SaveResult;
+import shop.ljhun.userregistration.repository.UserRepository;
+import shop.ljhun.userregistration.service.UsernameIndex;
+
+import java.io.IOException;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// RegistrationJournal의 record를 쓰인 순서대로 DB에 반영
+// - batch마다 UserRepository.saveAll (한 트랜잭션의 multi-row INSERT, username 기준 중복 제거)
+// - 같은 record를 두 번 넣어도(반영 후 checkpoint 전에 재시작 등) 두 번째는 DUPLICATE로 끝나므로 idempotent
+//   (저장된 해시가 record와 같으면 자기 자신이므로 created로 집계)
+// - 다른 가입이 username을 먼저 차지한 record는 registration_rejections에 남김 (202 응답 후 /register/status로 확인)
+// - DB 장애(연결/타임아웃 등 일시적 오류) 중에는 같은 batch를 지수 backoff로 재시도하고 다음 record로 넘어가지 않음 (순서 유지)
+// - 데이터 오류처럼 재시도해도 같은 결과인 오류는 record 하나씩 다시 넣어 보고, 실패한 record만 dead-letter로 옮긴 뒤 진행
+// - 스키마/권한 오류(테이블 없음, GRANT 누락 등)는 record가 아니라 DB 쪽 문제라 모든 record가 같이 실패하므로
+//   dead-letter로 옮기지 않고 DB 장애처럼 재시도하면서 registration.journal.replay.systemic 지표와 error 로그로 알림
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JournalReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReplayer.class);
+
+    @Autowired
+    private RegistrationJournal journal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @Value("${REGISTRATION_JOURNAL_REPLAY_BATCH:500}")
+    private int batchSize;
+
+    @Value("${REGISTRATION_JOURNAL_REPLAY_IDLE_MS:20}")
+    private long idleMs;
+
+    @Value("${REGISTRATION_JOURNAL_RETRY_MAX_MS:5000}")
+    private long maxBackoffMs;
+
+    private Thread replayer;
+    private volatile boolean running;
+
+    private Counter created;
+    private Counter rejected;
+    private Counter deadLetters;
+    private Counter systemicErrors;
+
+    @PostConstruct
+    void start() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+        created = Counter.builder("registration.journal.replayed")
+                .description("Journal entries written to the database")
+                .tag("result", "created")
+                .register(meterRegistry);
+        rejected = Counter.builder("registration.journal.replayed")
+                .description("Journal entries written to the database")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        deadLetters = Counter.builder("registration.journal.replayed")
+                .description("Journal entries written to the database")
+                .tag("result", "dead_letter")
+                .register(meterRegistry);
+        systemicErrors = Counter.builder("registration.journal.replay.systemic")
+                .description("Journal replay attempts blocked by schema or permission errors (replay is stalled until fixed)")
+                .register(meterRegistry);
+
+        running = true;
+        replayer = new Thread(this::run, "registration-journal-replayer");
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+
+    // interrupt하지 않음: checkpoint 기록 중에 interrupt되면 FileChannel이 닫혀(ClosedByInterruptException) 이후 commit이 모두 실패
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (replayer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(replayer);
+        replayer.join(maxBackoffMs);
+    }
+
+    private void run() {
+        long backoffMs = 0;
+        while (running) {
+            try {
+                RegistrationJournal.Batch batch = journal.readBatch(batchSize);
+                if (batch.users().isEmpty()) {
+                    // 빈 segment를 지나간 경우에도 checkpoint는 옮겨 둠
+                    journal.commit(batch);
+                    sleep(idleMs);
+                    continue;
+                }
+
+                List<SaveResult> results;
+                try {
+                    results = userRepository.saveAll(batch.users());
+                } catch (SQLException e) {
+                    if (!isPermanent(e)) {
+                        throw e;
+                    }
+                    log.warn("Journal batch rejected by the database ({}), replaying {} entries one by one",
+                            e.getMessage(), batch.users().size());
+                    results = saveEach(batch.users());
+                }
+                resolveDuplicates(batch.users(), results);
+                journal.commit(batch);
+                record(batch.users(), results);
+                if (backoffMs > 0) {
+                    log.info("Journal replay resumed, {} entries left", journal.backlog());
+                    backoffMs = 0;
+                }
+            } catch (SQLException e) {
+                registrationMetrics.recordDbError("journal_replay");
+                backoffMs = backoffMs == 0 ? 100 : Math.min(backoffMs * 2, maxBackoffMs);
+                if (isSystemic(e)) {
+                    systemicErrors.increment();
+                    log.error("Journal replay blocked by a schema or permission error with {} entries pending, retrying in {} ms: {}",
+                            journal.backlog(), backoffMs, e.getMessage());
+                } else {
+                    log.warn("Journal replay failed with {} entries pending, retrying in {} ms: {}",
+                            journal.backlog(), backoffMs, e.getMessage());
+                }
+                sleep(backoffMs);
+            } catch (IOException e) {
+                log.error("Journal read or checkpoint failed, retrying in {} ms", maxBackoffMs, e);
+                sleep(maxBackoffMs);
+            }
+        }
+    }
+
+    // batch가 통째로 거절됐을 때 원인 record만 골라냄: 일시적 오류가 나면 batch 전체를 나중에 다시 시도
+    // (그 사이 이미 들어간 record는 다시 넣을 때 자기 자신과의 DUPLICATE로 처리됨)
+    private List<SaveResult> saveEach(List<User> users) throws SQLException, IOException {
+        List<SaveResult> results = new ArrayList<>(users.size());
+        for (User user : users) {
+            try {
+                results.add(userRepository.saveAll(List.of(user)).get(0));
+            } catch (SQLException e) {
+                if (!isPermanent(e)) {
+                    throw e;
+                }
+                journal.deadLetter(user);
+                log.error("Journaled registration for {} moved to dead letter: {}", user.getUsername(), e.getMessage());
+                results.add(SaveResult.FAILED);
+            }
+        }
+        return results;
+    }
+
+    // DUPLICATE: 이미 들어간 자기 자신이면 CREATED, 다른 가입에 밀렸으면 거절로 기록 (checkpoint 전에 끝내야 재시도로 다시 판단 가능)
+    private void resolveDuplicates(List<User> users, List<SaveResult> results) throws SQLException {
+        for (int i = 0; i < users.size(); i++) {
+            if (results.get(i) != SaveResult.DUPLICATE) {
+                continue;
+            }
+            User user = users.get(i);
+            if (userRepository.isStored(user)) {
+                results.set(i, SaveResult.CREATED);
+            } else {
+                userRepository.recordRejection(user);
+            }
+        }
+    }
+
+    private void record(List<User> users, List<SaveResult> results) {
+        for (int i = 0; i < users.size(); i++) {
+            String username = users.get(i).getUsername();
+            switch (results.get(i)) {
+                case CREATED -> {
+                    usernameIndex.add(username);
+                    created.increment();
+                }
+                case DUPLICATE -> {
+                    // 202로 접수한 뒤 다른 경로(다른 파드 등)에서 같은 username이 먼저 저장된 경우
+                    usernameIndex.markTaken(username);
+                    rejected.increment();
+                    log.warn("Journaled registration for {} rejected: username already exists", username);
+                }
+                default -> deadLetters.increment();
+            }
+        }
+    }
+
+    // record 하나의 데이터 때문에 같은 데이터로는 계속 실패하는 오류: SQLState 22(데이터), 23(제약)
+    static boolean isPermanent(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLDataException || e instanceof SQLIntegrityConstraintViolationException
+                || (state != null && (state.startsWith("22") || state.startsWith("23")));
+    }
+
+    // 재시도해도 저절로 풀리지 않지만 record와 무관한 오류: 42(문법/권한), 그 밖의 non-transient 오류(연결 오류 제외)
+    static boolean isSystemic(SQLException e) {
+        if (isPermanent(e) || e instanceof SQLNonTransientConnectionException) {
+            return false;
+        }
+        String state = e.getSQLState();
+        return e instanceof SQLNonTransientException || (state != null && state.startsWith("42"));
+    }
+
+    // stop()의 unpark로 바로 깨어남
+    private void sleep(long ms) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+}
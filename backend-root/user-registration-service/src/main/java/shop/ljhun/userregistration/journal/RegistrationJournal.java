@@ -0,0 +1,445 @@
+package shop.ljhun.userregistration.journal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.model.Usernames;
+import shop.ljhun.userregistration.repository.SaveResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Write-behind 모드(REGISTRATION_WRITE_BEHIND=true)의 로컬 가입 journal (servlet 모드 전용, reactive 모드는 요청마다 바로 INSERT)
+// - 요청 스레드는 memory-mapped segment 파일에 record를 붙이고, fsync(force)가 끝나면 202로 응답
+// - fsync는 flusher 스레드가 REGISTRATION_JOURNAL_FSYNC_MS마다 한 번에 처리 (group commit)
+// - JournalReplayer가 checkpoint 위치부터 순서대로 읽어 DB에 넣고, 다 넣은 segment 파일은 삭제
+// record: [int 길이][int CRC32][username][password(해시)][email] (문자열은 [unsigned short 길이][UTF-8])
+// 길이가 0이거나 CRC가 맞지 않는 곳을 segment의 끝으로 봄 (fsync 전에 죽어서 기록되다 만 record는 응답하지 않은 요청)
+// DB가 받아 주지 않는 record(데이터 오류)는 dead-letter.log에 같은 형식으로 옮겨 두고 건너뜀 (JournalReplayer)
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RegistrationJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationJournal.class);
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${REGISTRATION_WRITE_BEHIND:false}")
+    private boolean enabled;
+
+    // k8s에서는 PersistentVolume을 마운트한 경로 (파드 재시작 후에도 남아 있어야 함)
+    @Value("${REGISTRATION_JOURNAL_DIR:/var/lib/registration-journal}")
+    private String directory;
+
+    @Value("${REGISTRATION_JOURNAL_SEGMENT_BYTES:67108864}")
+    private int segmentBytes;
+
+    @Value("${REGISTRATION_JOURNAL_FSYNC_MS:2}")
+    private long fsyncIntervalMs;
+
+    @Value("${REGISTRATION_JOURNAL_TIMEOUT_MS:2000}")
+    private long timeoutMs;
+
+    // journal에 있지만 아직 DB에 넣지 않은 username (같은 username의 두 번째 가입을 409로 거르고 backlog로 보고)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // 쓰기 쪽: appendLock으로 보호
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private long appendedSeq;
+
+    // fsync까지 끝난 위치: flusher가 갱신하고 요청 스레드/replayer가 읽음
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private volatile long syncedSeq;
+    private volatile Position durable;
+
+    // 읽기 쪽: replayer 스레드(기동 시에는 복구 스캔)만 사용
+    private Path root;
+    private FileChannel checkpointChannel;
+    private Position readPosition;
+    private long mappedReadSegment = -1;
+    private ByteBuffer readBuffer;
+
+    private Thread flusher;
+    private volatile boolean running;
+    // isHealthy(): flusher가 마지막으로 한 바퀴를 시작한 시각(force에서 멈추면 갱신되지 않음)과 마지막 fsync 실패 여부
+    private volatile long flusherAliveNanos;
+    private volatile boolean fsyncFailing;
+    private Timer fsyncTime;
+
+    record Position(long segment, int offset) {
+    }
+
+    record Batch(List<User> users, Position end) {
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        root = Path.of(directory);
+        Files.createDirectories(root);
+        checkpointChannel = FileChannel.open(root.resolve("checkpoint"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        List<Long> segments = listSegments();
+        long next = segments.isEmpty() ? 0 : segments.get(segments.size() - 1) + 1;
+        readPosition = readCheckpoint(segments.isEmpty() ? next : segments.get(0), next);
+        for (long segment : segments) {
+            if (segment < readPosition.segment()) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+
+        // 재시작 후에는 항상 새 segment에 씀 (이전 segment 끝의 기록되다 만 부분을 덮어쓰지 않도록)
+        openSegment(next);
+        durable = new Position(next, 0);
+        Position end = scan(readPosition, Integer.MAX_VALUE, user -> pending.add(key(user.getUsername())));
+        log.info("Registration journal {} opened with {} entries to replay (up to segment {})",
+                root, pending.size(), end.segment());
+
+        fsyncTime = Timer.builder("registration.journal.fsync")
+                .description("Time to force one group of journal appends to disk")
+                .register(meterRegistry);
+        meterRegistry.gauge("registration.journal.backlog", pending, Set::size);
+
+        flusherAliveNanos = System.nanoTime();
+        running = true;
+        flusher = new Thread(this::runFlusher, "registration-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(timeoutMs);
+        appendLock.lock();
+        try {
+            writeBuffer.force();
+        } finally {
+            appendLock.unlock();
+        }
+        checkpointChannel.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 가입을 접수할 수 있는 상태: flusher가 timeoutMs 안에 돌고 있고 마지막 fsync가 성공함 (DB 상태와 무관, DatabaseReadiness)
+    public boolean isHealthy() {
+        return running && !fsyncFailing
+                && System.nanoTime() - flusherAliveNanos <= TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    public boolean isPending(String username) {
+        return enabled && pending.contains(key(username));
+    }
+
+    // ACCEPTED: fsync까지 끝남, DUPLICATE: 같은 username이 아직 journal에 있음, FAILED: 기록 실패(record 없음)
+    // UNKNOWN: 기록은 했지만 fsync가 시간 안에 끝나지 않음 (나중에 fsync되면 replay되므로 실패로 알리지 않음)
+    public SaveResult append(User user) {
+        String key = key(user.getUsername());
+        if (!pending.add(key)) {
+            return SaveResult.DUPLICATE;
+        }
+        byte[] record = encode(user);
+
+        long seq;
+        appendLock.lock();
+        try {
+            if (record.length > writeBuffer.remaining()) {
+                roll();
+            }
+            writeBuffer.put(record);
+            seq = ++appendedSeq;
+        } catch (IOException e) {
+            pending.remove(key);
+            log.error("Registration journal append failed: {}", e.getMessage());
+            return SaveResult.FAILED;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (!awaitSync(seq)) {
+            // record는 buffer에 남아 다음 fsync 후 replay되므로 pending도 유지 (재시도는 409, 결과는 /register/status로 확인)
+            log.warn("Registration journal fsync did not complete within {} ms", timeoutMs);
+            return SaveResult.UNKNOWN;
+        }
+        return SaveResult.ACCEPTED;
+    }
+
+    // 마지막으로 commit한 위치부터 fsync가 끝난 record를 최대 max개 읽음 (위치는 commit 전까지 그대로)
+    Batch readBatch(int max) throws IOException {
+        List<User> users = new ArrayList<>(Math.min(max, 1024));
+        Position end = scan(readPosition, max, users::add);
+        return new Batch(users, end);
+    }
+
+    // DB 반영이 끝난 batch까지 checkpoint를 옮기고, 완전히 지나간 segment 파일은 삭제
+    void commit(Batch batch) throws IOException {
+        Position end = batch.end();
+        if (end.equals(readPosition)) {
+            return;
+        }
+        ByteBuffer checkpoint = ByteBuffer.allocate(12).putLong(end.segment()).putInt(end.offset()).flip();
+        checkpointChannel.write(checkpoint, 0);
+        checkpointChannel.force(false);
+
+        for (long segment = readPosition.segment(); segment < end.segment(); segment++) {
+            Files.deleteIfExists(segmentPath(segment));
+        }
+        readPosition = end;
+        for (User user : batch.users()) {
+            pending.remove(key(user.getUsername()));
+        }
+    }
+
+    // replay할 수 없는 record를 dead-letter.log에 붙이고 디스크에 기록 (replayer 스레드만 호출)
+    void deadLetter(User user) throws IOException {
+        try (FileChannel channel = FileChannel.open(root.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer record = ByteBuffer.wrap(encode(user));
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+        }
+    }
+
+    int backlog() {
+        return pending.size();
+    }
+
+    private Position scan(Position from, int max, Consumer<User> consumer) throws IOException {
+        Position bound = durable;
+        long segment = from.segment();
+        int offset = from.offset();
+        int count = 0;
+        while (count < max && (segment < bound.segment() || offset < bound.offset())) {
+            ByteBuffer buffer = mapForRead(segment);
+            int limit = segment == bound.segment() ? bound.offset() : (buffer == null ? 0 : buffer.capacity());
+            User user = buffer == null ? null : decode(buffer, offset, limit);
+            if (user == null) {
+                // 이 segment의 끝: 이미 fsync가 끝난 이전 segment면 다음 segment로 넘어감
+                if (segment == bound.segment()) {
+                    break;
+                }
+                segment++;
+                offset = 0;
+                continue;
+            }
+            consumer.accept(user);
+            offset += HEADER_BYTES + buffer.getInt(offset);
+            count++;
+        }
+        return new Position(segment, offset);
+    }
+
+    private ByteBuffer mapForRead(long segment) throws IOException {
+        if (segment != mappedReadSegment) {
+            Path path = segmentPath(segment);
+            readBuffer = null;
+            if (Files.exists(path)) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    readBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+            mappedReadSegment = segment;
+        }
+        return readBuffer;
+    }
+
+    private void runFlusher() {
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs));
+            flusherAliveNanos = System.nanoTime();
+            long seq;
+            long segment;
+            int offset;
+            MappedByteBuffer buffer;
+            appendLock.lock();
+            try {
+                seq = appendedSeq;
+                segment = writeSegment;
+                offset = writeBuffer.position();
+                buffer = writeBuffer;
+            } finally {
+                appendLock.unlock();
+            }
+            if (seq == syncedSeq) {
+                continue;
+            }
+            try {
+                long started = System.nanoTime();
+                buffer.force();
+                fsyncTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                fsyncFailing = true;
+                log.error("Registration journal fsync failed", e);
+                continue;
+            }
+            fsyncFailing = false;
+            durable = new Position(segment, offset);
+            syncedSeq = seq;
+            syncLock.lock();
+            try {
+                synced.signalAll();
+            } finally {
+                syncLock.unlock();
+            }
+        }
+    }
+
+    private boolean awaitSync(long seq) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        syncLock.lock();
+        try {
+            while (syncedSeq < seq) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = synced.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // appendLock 안에서 호출: 이전 segment를 끝까지 디스크에 기록한 뒤 다음 segment로 넘어감
+    private void roll() throws IOException {
+        writeBuffer.force();
+        openSegment(writeSegment + 1);
+    }
+
+    private void openSegment(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            writeBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        writeSegment = segment;
+    }
+
+    private Position readCheckpoint(long firstSegment, long nextSegment) throws IOException {
+        ByteBuffer checkpoint = ByteBuffer.allocate(12);
+        if (checkpointChannel.read(checkpoint, 0) == 12) {
+            checkpoint.flip();
+            Position saved = new Position(checkpoint.getLong(), checkpoint.getInt());
+            // checkpoint의 segment가 남아 있지 않으면 남아 있는 첫 segment부터
+            if (saved.segment() >= firstSegment && saved.segment() < nextSegment) {
+                return saved;
+            }
+        }
+        return new Position(firstSegment, 0);
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return root.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    static byte[] encode(User user) {
+        byte[] username = user.getUsername().getBytes(StandardCharsets.UTF_8);
+        byte[] password = user.getPassword().getBytes(StandardCharsets.UTF_8);
+        byte[] email = user.getEmail().getBytes(StandardCharsets.UTF_8);
+        int length = 6 + username.length + password.length + email.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+        buffer.putInt(length).putInt(0);
+        putString(buffer, username);
+        putString(buffer, password);
+        putString(buffer, email);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, length);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    // offset에 온전한 record가 없으면 null
+    static User decode(ByteBuffer buffer, int offset, int limit) {
+        if (offset + HEADER_BYTES > limit) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length < 6 || length > limit - offset - HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(offset + HEADER_BYTES, length);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            return null;
+        }
+        User user = new User();
+        user.setUsername(getString(payload));
+        user.setPassword(getString(payload));
+        user.setEmail(getString(payload));
+        return user;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length).put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    // 중복 비교는 username UNIQUE 키와 같은 기준
+    private static String key(String username) {
+        return Usernames.key(username);
+    }
+}
@@ -0,0 +1,315 @@
+package shop.ljhun.userregistration.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+// 접근 로그 / 오류 로그를 JSON lines로 stdout에 쓰는 비동기 파이프라인
+// - 요청 스레드: 미리 만들어 둔 고정 크기 슬롯(ring buffer)에 값만 채우고 바로 반환 (CAS 한 번, 락/IO 없음)
+// - 버퍼가 가득 차면 기다리지 않고 버림 (log.events.dropped 카운터)
+// - 전용 스레드 하나가 슬롯을 순서대로 읽어 ACCESS_LOG_BATCH개씩 모아 한 번에 write
+// - 헬스 프로브(ACCESS_LOG_PROBE_PATHS에 대한 GET)는 정상 응답이면 ACCESS_LOG_PROBE_SAMPLE_RATE 비율만 기록 (sampleRate 필드)
+// 슬롯마다 sequence 번호로 "채워짐/비었음"을 표시하는 bounded queue (producer 여럿, consumer 하나)
+@Component
+public class EventLog {
+
+    private static final int MAX_FIELD_LENGTH = 256;
+    private static final int MAX_STACK_FRAMES = 5;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ACCESS_LOG_BUFFER_SIZE:8192}")
+    private int bufferSize;
+
+    @Value("${ACCESS_LOG_BATCH:512}")
+    private int batchSize;
+
+    @Value("${ACCESS_LOG_FLUSH_MS:100}")
+    private long flushIntervalMs;
+
+    // k8s 프로브 경로
+    // ALB 헬스 체크 경로(/app-one/register)는 실제 요청과 같은 경로라 기본값에서 제외 (샘플링되면 실제 요청 로그가 빠짐)
+    @Value("${ACCESS_LOG_PROBE_PATHS:/healthz,/readyz}")
+    private String probePathList;
+
+    @Value("${ACCESS_LOG_PROBE_SAMPLE_RATE:0.01}")
+    private double probeSampleRate;
+
+    // X-Forwarded-For에서 뒤에서 몇 번째 값을 clientIp로 기록할지 (ALB는 1, GCP LB는 "client, lb" 형태라 2)
+    // 맨 앞 값은 클라이언트가 임의로 넣을 수 있으므로 그대로 기록하지 않음
+    @Value("${ACCESS_LOG_TRUSTED_PROXY_HOPS:1}")
+    private int trustedProxyHops;
+
+    private Set<String> probePaths;
+
+    private Event[] slots;
+    private AtomicLongArray sequences;
+    private int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final PrintStream out = System.out;
+    private Thread writer;
+    private volatile boolean running = true;
+
+    private Counter droppedAccess;
+    private Counter droppedError;
+    private Counter written;
+
+    @PostConstruct
+    void start() {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        slots = new Event[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Event();
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+        probePaths = Arrays.stream(probePathList.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        droppedAccess = dropCounter("access");
+        droppedError = dropCounter("error");
+        written = Counter.builder("log.events.written")
+                .description("Log events written to stdout by the background writer")
+                .register(meterRegistry);
+
+        writer = new Thread(this::drainLoop, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private Counter dropCounter(String type) {
+        return Counter.builder("log.events.dropped")
+                .description("Log events discarded because the ring buffer was full")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    // 종료 시 남은 이벤트까지 쓰고 멈춤
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    public String clientIp(String forwardedFor, String remoteAddr) {
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        return hops[Math.max(0, hops.length - trustedProxyHops)].trim();
+    }
+
+    public void access(String method, String path, int status, long durationNanos, String clientIp, String userAgent) {
+        boolean sampled = status < 400 && probeSampleRate < 1 && "GET".equals(method) && probePaths.contains(path);
+        if (sampled && ThreadLocalRandom.current().nextDouble() >= probeSampleRate) {
+            return;
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            droppedAccess.increment();
+            return;
+        }
+        Event event = slots[(int) sequence & mask];
+        event.type = Event.ACCESS;
+        event.timestampMillis = System.currentTimeMillis();
+        event.method = method;
+        event.path = path;
+        event.status = status;
+        event.durationNanos = durationNanos;
+        event.clientIp = clientIp;
+        event.userAgent = userAgent;
+        event.sampleRate = sampled ? probeSampleRate : 1;
+        publish(sequence);
+    }
+
+    // source: 오류가 난 작업 이름 (RegistrationMetrics.recordDbError와 같은 값)
+    public void error(String source, Throwable error) {
+        long sequence = claim();
+        if (sequence < 0) {
+            droppedError.increment();
+            return;
+        }
+        Event event = slots[(int) sequence & mask];
+        event.type = Event.ERROR;
+        event.timestampMillis = System.currentTimeMillis();
+        event.source = source;
+        event.error = error;
+        publish(sequence);
+    }
+
+    // 빈 슬롯을 하나 예약, 가득 차 있으면 -1
+    private long claim() {
+        long position = tail.get();
+        while (true) {
+            long available = sequences.get((int) position & mask) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void publish(long sequence) {
+        sequences.set((int) sequence & mask, sequence + 1);
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(512);
+        StringBuilder batch = new StringBuilder(64 * 1024);
+        while (true) {
+            boolean stopping = !running;
+            int drained = 0;
+            while (drained < batchSize) {
+                int index = (int) head & mask;
+                if (sequences.get(index) != head + 1) {
+                    break;
+                }
+                Event event = slots[index];
+                line.setLength(0);
+                format(event, line);
+                batch.append(line).append('\n');
+                event.clear();
+                sequences.set(index, head + slots.length);
+                head++;
+                drained++;
+            }
+            if (drained > 0) {
+                byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+                out.write(bytes, 0, bytes.length);
+                out.flush();
+                batch.setLength(0);
+                written.increment(drained);
+            }
+            if (drained == batchSize) {
+                continue;
+            }
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+        }
+    }
+
+    private static void format(Event event, StringBuilder out) {
+        out.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestampMillis)).append('"');
+        if (event.type == Event.ACCESS) {
+            out.append(",\"type\":\"access\"");
+            field(out, "method", event.method);
+            field(out, "path", event.path);
+            out.append(",\"status\":").append(event.status);
+            out.append(",\"durationMs\":").append(event.durationNanos / 1000 / 1000.0);
+            field(out, "clientIp", event.clientIp);
+            field(out, "userAgent", event.userAgent);
+            if (event.sampleRate < 1) {
+                out.append(",\"sampleRate\":").append(event.sampleRate);
+            }
+        } else {
+            out.append(",\"type\":\"error\"");
+            field(out, "source", event.source);
+            Throwable error = event.error;
+            field(out, "exception", error.getClass().getName());
+            field(out, "message", error.getMessage());
+            if (error instanceof SQLException sql) {
+                field(out, "sqlState", sql.getSQLState());
+            }
+            StackTraceElement[] frames = error.getStackTrace();
+            out.append(",\"stack\":[");
+            for (int i = 0; i < Math.min(frames.length, MAX_STACK_FRAMES); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                string(out, frames[i].toString());
+            }
+            out.append(']');
+            if (error.getCause() != null) {
+                field(out, "cause", error.getCause().getClass().getName() + ": " + error.getCause().getMessage());
+            }
+        }
+        out.append('}');
+    }
+
+    private static void field(StringBuilder out, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        out.append(",\"").append(name).append("\":");
+        string(out, value);
+    }
+
+    private static void string(StringBuilder out, String value) {
+        out.append('"');
+        int length = Math.min(value.length(), MAX_FIELD_LENGTH);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    // 슬롯은 기동 시 한 번만 만들고 재사용 (요청마다 이벤트 객체를 만들지 않음)
+    private static final class Event {
+
+        static final byte ACCESS = 0;
+        static final byte ERROR = 1;
+
+        byte type;
+        long timestampMillis;
+
+        String method;
+        String path;
+        int status;
+        long durationNanos;
+        String clientIp;
+        String userAgent;
+        double sampleRate;
+
+        String source;
+        Throwable error;
+
+        // 다 쓴 슬롯이 요청 객체의 문자열/예외를 붙잡고 있지 않도록
+        void clear() {
+            method = null;
+            path = null;
+            clientIp = null;
+            userAgent = null;
+            source = null;
+            error = null;
+        }
+    }
+}
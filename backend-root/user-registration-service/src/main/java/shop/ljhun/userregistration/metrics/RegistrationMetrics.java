@@ -0,0 +1,79 @@
+package shop.ljhun.userregistration.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 회원가입 경로 단계별 지연시간(registration.stage), 응답 코드별 건수(registration.requests), DB 오류 건수(registration.db.errors)
+// 태그 값은 enum / 상태 코드 / 고정 문자열만 사용 (username 등은 절대 태그로 쓰지 않음)
+// meter는 미리 만들어 두고 요청마다 registry 조회 없이 기록
+@Component
+public class RegistrationMetrics {
+
+    public enum Stage {
+        VALIDATION("validation"),
+        USERNAME_CHECK("username_check"),
+        PASSWORD_HASH("password_hash"),
+        SAVE("save"),
+        CONNECTION_ACQUIRE("connection_acquire");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Integer, Counter> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> dbErrors = new ConcurrentHashMap<>();
+
+    public RegistrationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("registration.stage")
+                    .description("Time spent in each stage of a registration request")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+        }
+        for (int status : new int[]{201, 202, 400, 409, 503}) {
+            outcome(status);
+        }
+    }
+
+    public void recordStage(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 컨트롤러에서 return 직전에 감싸서 사용: return registrationMetrics.count(ResponseEntity...)
+    public <T> ResponseEntity<T> count(ResponseEntity<T> response) {
+        outcome(response.getStatusCode().value()).increment();
+        return response;
+    }
+
+    // operation: 고정된 쿼리 이름 (exists_by_username, save, save_batch)
+    public void recordDbError(String operation) {
+        dbErrors.computeIfAbsent(operation, op -> Counter.builder("registration.db.errors")
+                .description("Database calls that failed")
+                .tag("operation", op)
+                .register(meterRegistry)).increment();
+    }
+
+    private Counter outcome(int status) {
+        return outcomes.computeIfAbsent(status, s -> Counter.builder("registration.requests")
+                .description("Registration requests by response status")
+                .tag("status", String.valueOf(s))
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,36 @@
+package shop.ljhun.userregistration.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import shop.ljhun.userregistration.model.User;
+
+import java.lang.reflect.Type;
+
+// User 본문을 읽기 시작한 시각을 request attribute에 남김
+// 바인딩과 @Valid 검증이 끝난 뒤 컨트롤러 진입 시점에 이 값으로 validation 단계 시간을 기록
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestBodyTimingAdvice extends RequestBodyAdviceAdapter {
+
+    public static final String BODY_READ_STARTED = "bodyReadStarted";
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == User.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(BODY_READ_STARTED, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+}
@@ -1,23 +1,26 @@
 package shop.ljhun.userregistration.model;
 
-import jakarta.validation.constraints.Email;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import shop.ljhun.userregistration.validation.ValidEmail;
+import shop.ljhun.userregistration.validation.ValidPassword;
 
+// 가입 요청 본문 (모르는 필드는 무시)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class User {
 
     @NotBlank(message = "username은 필수입니다.")
+    @Size(max = 50, message = "username은 50자 이하여야 합니다.")
     private String username;
 
+    // 정규식 대신 한 번 순회로 검사 (규칙과 메시지는 이전 @Pattern과 동일, 72바이트 상한 추가)
     @NotBlank(message = "password는 필수입니다.")
-    @Pattern(
-        regexp = "^(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+=-]).{8,}$",
-        message = "비밀번호는 8자 이상이며, 소문자, 숫자, 특수문자를 포함해야 합니다."
-    )
+    @ValidPassword(message = "비밀번호는 8자 이상이며, 소문자, 숫자, 특수문자를 포함해야 합니다.")
     private String password;
 
     @NotBlank(message = "email은 필수입니다.")
-    @Email(message = "유효한 이메일 형식이어야 합니다.")
+    @ValidEmail(message = "유효한 이메일 형식이어야 합니다.")
     private String email;
 
     public String getUsername() { return username; }
@@ -28,4 +31,4 @@ public class User {
 
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package shop.ljhun.userregistration.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// users.username UNIQUE 키의 비교 규칙(MySQL 기본 collation utf8mb4_0900_ai_ci: 대소문자·악센트 무시)에 맞춘 메모리 키
+// - NFKD 분해 후 결합 문자(악센트) 제거: á → a, ﬁ → fi
+// - 대문자 변환 후 소문자: ß → SS → ss
+// collation과 완전히 같지는 않으므로 어긋날 때는 "같은 이름"으로 더 넓게 묶이는 쪽이 되도록 사용
+public final class Usernames {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private Usernames() {
+    }
+
+    public static String key(String username) {
+        String decomposed = Normalizer.normalize(username, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+}
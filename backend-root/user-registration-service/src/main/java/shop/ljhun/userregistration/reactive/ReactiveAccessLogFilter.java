@@ -0,0 +1,51 @@
+package shop.ljhun.userregistration.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userregistration.logging.EventLog;
+
+import java.net.InetSocketAddress;
+
+// AccessLogFilter의 reactive 버전 (같은 설정값, 같은 로그 형식)
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveAccessLogFilter implements WebFilter {
+
+    @Autowired
+    private EventLog eventLog;
+
+    @Value("${ACCESS_LOG_ENABLED:true}")
+    private boolean enabled;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        long started = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            eventLog.access(request.getMethod().name(), request.getPath().value(), status == null ? 200 : status.value(),
+                    System.nanoTime() - started,
+                    eventLog.clientIp(request.getHeaders().getFirst("X-Forwarded-For"), remoteAddr(request)),
+                    request.getHeaders().getFirst("User-Agent"));
+        });
+    }
+
+    private static String remoteAddr(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null || address.getAddress() == null ? "unknown" : address.getAddress().getHostAddress();
+    }
+}
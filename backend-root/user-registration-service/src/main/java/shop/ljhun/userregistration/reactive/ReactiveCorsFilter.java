@@ -0,0 +1,70 @@
+package shop.ljhun.userregistration.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// CorsHeaderFilter의 reactive 버전 (같은 설정값, 같은 응답 헤더)
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCorsFilter implements WebFilter {
+
+    private static final String ALLOWED_METHODS = "GET, POST, OPTIONS";
+    private static final String ALLOWED_HEADERS = "content-type, authorization";
+
+    private final Set<String> allowedOrigins;
+    private final String maxAge;
+
+    public ReactiveCorsFilter(@Value("${CORS_ALLOWED_ORIGINS:https://www.ljhun.shop,https://ljhun.shop}") String origins,
+                              @Value("${CORS_MAX_AGE_SECONDS:3600}") long maxAgeSeconds) {
+        this.allowedOrigins = Arrays.stream(origins.split(","))
+                .map(String::trim)
+                .filter(origin -> !origin.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.maxAge = String.valueOf(maxAgeSeconds);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String origin = request.getHeaders().getOrigin();
+        if (origin == null) {
+            return chain.filter(exchange);
+        }
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(HttpHeaders.VARY, "Origin");
+        boolean allowed = allowedOrigins.contains(origin);
+        if (allowed) {
+            headers.set(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+            headers.set(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+            headers.set(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, ALLOWED_METHODS);
+            headers.set(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, ALLOWED_HEADERS);
+        }
+
+        if (request.getMethod() == HttpMethod.OPTIONS
+                && request.getHeaders().containsKey(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD)) {
+            if (allowed) {
+                headers.set(HttpHeaders.ACCESS_CONTROL_MAX_AGE, maxAge);
+                exchange.getResponse().setStatusCode(HttpStatus.NO_CONTENT);
+            } else {
+                exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+            }
+            return exchange.getResponse().setComplete();
+        }
+
+        return chain.filter(exchange);
+    }
+}
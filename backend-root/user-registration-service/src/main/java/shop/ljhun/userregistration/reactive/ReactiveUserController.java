@@ -0,0 +1,84 @@
+package shop.ljhun.userregistration.reactive;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userregistration.controller.ResponseBodies;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.DatabaseUnavailableException;
+import shop.ljhun.userregistration.repository.SaveResult;
+import shop.ljhun.userregistration.security.PasswordHashingException;
+
+import java.util.Set;
+
+// UserController와 같은 요청/응답 규격의 non-blocking 버전 (WEB_STACK=reactive)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequestMapping("/app-one")
+public class ReactiveUserController {
+
+    @Autowired
+    private ReactiveUserService userService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @GetMapping("/register")
+    public ResponseEntity<byte[]> registerHealthCheck() {
+        return ResponseBodies.json(HttpStatus.OK, ResponseBodies.HEALTH_PASSED);
+    }
+
+    @GetMapping("/register/available")
+    public Mono<ResponseEntity<byte[]>> checkUsernameAvailable(@RequestParam(required = false) String username) {
+        if (username == null || username.isBlank()) {
+            return Mono.just(ResponseBodies.json(HttpStatus.BAD_REQUEST, ResponseBodies.USERNAME_REQUIRED));
+        }
+        return userService.isUsernameTaken(username)
+                .map(taken -> ResponseBodies.json(HttpStatus.OK, taken
+                        ? ResponseBodies.USERNAME_TAKEN
+                        : ResponseBodies.USERNAME_AVAILABLE))
+                .onErrorResume(DatabaseUnavailableException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ResponseBodies.DATABASE_UNAVAILABLE)));
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<byte[]>> registerUser(@RequestBody User user) {
+        // MVC의 @Valid + BindingResult와 같은 규칙: 첫 번째 위반 메시지를 그대로 400으로 반환
+        long started = System.nanoTime();
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        registrationMetrics.recordStage(RegistrationMetrics.Stage.VALIDATION, System.nanoTime() - started);
+        if (!violations.isEmpty()) {
+            String errorMsg = violations.iterator().next().getMessage();
+            return Mono.just(registrationMetrics.count(ResponseBodies.json(HttpStatus.BAD_REQUEST, ResponseBodies.error(errorMsg))));
+        }
+
+        return userService.registerUser(user)
+                .map(result -> {
+                    if (result == SaveResult.DUPLICATE) {
+                        return ResponseBodies.json(HttpStatus.CONFLICT, ResponseBodies.USERNAME_EXISTS);
+                    }
+                    if (result == SaveResult.FAILED) {
+                        return ResponseBodies.json(HttpStatus.SERVICE_UNAVAILABLE, ResponseBodies.REGISTRATION_FAILED);
+                    }
+                    return ResponseBodies.json(HttpStatus.CREATED, ResponseBodies.REGISTERED);
+                })
+                .onErrorResume(PasswordHashingException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ResponseBodies.SERVER_BUSY)))
+                .map(registrationMetrics::count);
+    }
+}
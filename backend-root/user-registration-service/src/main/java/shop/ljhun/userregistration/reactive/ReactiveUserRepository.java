@@ -0,0 +1,86 @@
+package shop.ljhun.userregistration.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.DatabaseUnavailableException;
+import shop.ljhun.userregistration.repository.SaveResult;
+import shop.ljhun.userregistration.repository.UsernameSource;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+// UserRepository와 같은 쿼리를 R2DBC로 실행 (event loop를 막지 않음)
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository implements UsernameSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveUserRepository.class);
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    // UsernameIndex 동기화 한 페이지를 기다리는 상한 (servlet 모드의 JDBC socketTimeout과 같은 값)
+    @Value("${DB_QUERY_TIMEOUT_MS:2000}")
+    private long queryTimeoutMs;
+
+    private record IdAndUsername(long id, String username) {
+    }
+
+    public Mono<Boolean> existsByUsername(String username) {
+        return databaseClient.sql("SELECT COUNT(*) AS cnt FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("cnt", Long.class))
+                .first()
+                .map(count -> count > 0)
+                .onErrorMap(DatabaseUnavailableException::new);
+    }
+
+    // Spring R2DBC가 UNIQUE 위반(MySQL 1062 / SQLState 23505)을 DuplicateKeyException으로 변환
+    public Mono<SaveResult> save(User user) {
+        return databaseClient.sql("INSERT INTO users (username, password, email) VALUES (:username, :password, :email)")
+                .bind("username", user.getUsername())
+                .bind("password", user.getPassword())
+                .bind("email", user.getEmail())
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> SaveResult.CREATED)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(SaveResult.DUPLICATE))
+                .onErrorResume(e -> {
+                    log.warn("User insert failed: {}", e.toString());
+                    return Mono.just(SaveResult.FAILED);
+                });
+    }
+
+    // UsernameIndex의 @Scheduled 스레드에서 호출되므로 결과를 기다려도 event loop를 막지 않음
+    @Override
+    public long forEachUsernameAfter(long afterId, int limit, Consumer<String> consumer) throws SQLException {
+        List<IdAndUsername> rows;
+        try {
+            rows = databaseClient.sql("SELECT id, username FROM users WHERE id > :afterId ORDER BY id LIMIT :limit")
+                    .bind("afterId", afterId)
+                    .bind("limit", limit)
+                    .map(row -> new IdAndUsername(row.get("id", Long.class), row.get("username", String.class)))
+                    .all()
+                    .collectList()
+                    .block(Duration.ofMillis(queryTimeoutMs));
+        } catch (RuntimeException e) {
+            throw new SQLException("Username page after id " + afterId + " failed: " + e.getMessage(), e);
+        }
+        long lastId = afterId;
+        for (IdAndUsername row : rows) {
+            lastId = row.id();
+            consumer.accept(row.username());
+        }
+        return lastId;
+    }
+}
@@ -0,0 +1,64 @@
+package shop.ljhun.userregistration.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.SaveResult;
+import shop.ljhun.userregistration.security.PasswordHasher;
+import shop.ljhun.userregistration.security.PasswordHashingException;
+import shop.ljhun.userregistration.service.UsernameIndex;
+
+// UserService와 같은 흐름의 non-blocking 버전 (UsernameIndex는 servlet 모드와 공유)
+// RegistrationBatcher와 write-behind journal(RegistrationJournal)은 servlet 모드 전용이라 reactive 모드에서는 요청마다 바로 INSERT
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserService {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    public Mono<Boolean> isUsernameTaken(String username) {
+        if (usernameIndex.isDefinitelyAvailable(username)) {
+            return Mono.just(false);
+        }
+        if (usernameIndex.isKnownTaken(username)) {
+            return Mono.just(true);
+        }
+        return userRepository.existsByUsername(username)
+                .doOnNext(taken -> {
+                    if (taken) {
+                        usernameIndex.markTaken(username);
+                    }
+                });
+    }
+
+    public Mono<SaveResult> registerUser(User user) {
+        if (usernameIndex.isKnownTaken(user.getUsername())) {
+            return Mono.just(SaveResult.DUPLICATE);
+        }
+
+        // bcrypt는 PasswordHasher 워커 풀에서 수행, 포화 또는 제한 시간 초과 시 PasswordHashingException 신호로 전달
+        return Mono.defer(() -> Mono.fromFuture(passwordHasher.hashAsync(user.getPassword())))
+                .timeout(passwordHasher.getTimeout(),
+                        Mono.error(() -> new PasswordHashingException("Password hashing timed out", null)))
+                .flatMap(hashed -> {
+                    user.setPassword(hashed);
+                    return userRepository.save(user);
+                })
+                .doOnNext(result -> {
+                    if (result == SaveResult.CREATED) {
+                        usernameIndex.add(user.getUsername());
+                    } else if (result == SaveResult.DUPLICATE) {
+                        usernameIndex.markTaken(user.getUsername());
+                    }
+                });
+    }
+}
@@ -0,0 +1,20 @@
+package shop.ljhun.userregistration.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+// saveAll의 COMMIT 요청이 실패했지만 DB에 반영됐는지 알 수 없는 경우 (커밋 중/직후 연결이 끊긴 경우 등)
+// results: 커밋과 무관하게 확정된 DUPLICATE는 그대로, 저장하려던 row는 UNKNOWN
+public class CommitUncertainException extends SQLException {
+
+    private final transient List<SaveResult> results;
+
+    public CommitUncertainException(SQLException cause, List<SaveResult> results) {
+        super("Commit outcome unknown: " + cause.getMessage(), cause);
+        this.results = results;
+    }
+
+    public List<SaveResult> results() {
+        return results;
+    }
+}
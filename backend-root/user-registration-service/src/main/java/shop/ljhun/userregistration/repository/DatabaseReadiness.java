@@ -0,0 +1,203 @@
+package shop.ljhun.userregistration.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ValidationDepth;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import shop.ljhun.userregistration.config.FailoverDataSource;
+import shop.ljhun.userregistration.journal.RegistrationJournal;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// /readyz 용 DB 상태: 전용 스레드가 READINESS_CHECK_MS 간격으로 풀 커넥션 하나를 검증하고 결과만 저장
+// 프로브(로드밸런서 수 x 파드 수)는 저장된 값만 읽으므로 DB 부하는 프로브 수와 무관하고, 요청 스레드는 대기하지 않음
+// 마지막 성공이 READINESS_STALE_MS보다 오래되면(검사 스레드가 DB 응답을 기다리며 멈춘 경우 포함) not ready
+// servlet: FailoverDataSource (primary 장애 시 standby로 응답할 수 있으면 ready), reactive: R2DBC ConnectionPool
+//   (두 풀은 각각 servlet / reactive 모드에서만 Bean으로 만들어지므로 존재하는 쪽이 곧 현재 모드)
+// write-behind(REGISTRATION_WRITE_BEHIND=true, journal은 servlet 모드에만 있음): 가입은 journal에 기록되고 DB 반영은 JournalReplayer가 나중에 하므로
+//   DB 장애 중에도 journal이 정상이면 ready (DB 장애 때 파드가 전부 빠지면 write-behind를 켠 의미가 없음)
+//   db.ready 지표는 모드와 관계없이 DB 상태
+// 중복 가입 감지는 users.username UNIQUE 키(1062)에 의존하므로 키가 확인되기 전까지는 모드와 관계없이 not ready
+//   (V4 마이그레이션이 실패했거나 빠진 DB로 배포되면 새 파드가 ready가 되지 않아 롤아웃이 멈춤)
+@Component
+public class DatabaseReadiness {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseReadiness.class);
+
+    @Autowired
+    private ObjectProvider<FailoverDataSource> dataSource;
+
+    @Autowired
+    private ObjectProvider<ConnectionPool> connectionPool;
+
+    @Autowired
+    private ObjectProvider<DatabaseClient> databaseClient;
+
+    @Autowired
+    private ObjectProvider<RegistrationJournal> registrationJournal;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${READINESS_CHECK_MS:2000}")
+    private long checkIntervalMs;
+
+    @Value("${READINESS_STALE_MS:6000}")
+    private long staleMs;
+
+    @Value("${READINESS_CHECK_TIMEOUT_MS:1000}")
+    private long checkTimeoutMs;
+
+    // 다른 @Scheduled 작업(Bloom filter 동기화 등)과 스케줄러 스레드를 나눠 쓰지 않도록 전용 스레드
+    private ScheduledExecutorService executor;
+    private long staleNanos;
+
+    private volatile boolean lastCheckPassed;
+    private volatile long lastSuccessNanos;
+
+    // 한 번 확인되면 다시 검사하지 않음 (키가 빠지는 것은 마이그레이션 밖의 수동 작업)
+    private volatile boolean usernameKeyPresent;
+    private boolean usernameKeyMissingLogged;
+
+    @PostConstruct
+    void start() {
+        staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMs);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-readiness");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+        meterRegistry.gauge("db.ready", this, readiness -> readiness.isDatabaseReady() ? 1 : 0);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isReady() {
+        if (!usernameKeyPresent) {
+            return false;
+        }
+        RegistrationJournal journal = registrationJournal.getIfAvailable();
+        if (journal != null && journal.isEnabled()) {
+            return journal.isHealthy();
+        }
+        return isDatabaseReady();
+    }
+
+    private boolean isDatabaseReady() {
+        return lastCheckPassed && System.nanoTime() - lastSuccessNanos <= staleNanos;
+    }
+
+    private void check() {
+        boolean wasReady = isDatabaseReady();
+        boolean passed;
+        try {
+            passed = probe();
+        } catch (Exception e) {
+            log.debug("Readiness check failed: {}", e.getMessage());
+            passed = false;
+        }
+        if (passed) {
+            lastSuccessNanos = System.nanoTime();
+        }
+        lastCheckPassed = passed;
+        if (passed != wasReady) {
+            log.info("Database readiness changed to {}", passed ? "ready" : "not ready");
+        }
+    }
+
+    private boolean probe() throws SQLException {
+        FailoverDataSource jdbc = dataSource.getIfAvailable();
+        if (jdbc != null) {
+            try (Connection conn = jdbc.getConnection()) {
+                if (!conn.isValid((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkTimeoutMs)))) {
+                    return false;
+                }
+                if (!usernameKeyPresent) {
+                    recordUsernameKey(hasUsernameKey(conn));
+                }
+                return true;
+            } catch (SQLTransientConnectionException e) {
+                // 원인 없는 풀 대기 초과는 DB 장애가 아니라 부하: 부하 때문에 모든 파드가 한꺼번에 빠지지 않도록 ready 유지
+                if (e.getCause() == null) {
+                    return true;
+                }
+                throw e;
+            }
+        }
+        ConnectionPool pool = connectionPool.getIfAvailable();
+        if (pool != null) {
+            boolean valid = Boolean.TRUE.equals(Mono.usingWhen(pool.create(),
+                            conn -> Mono.from(conn.validate(ValidationDepth.REMOTE)),
+                            io.r2dbc.spi.Connection::close)
+                    .block(Duration.ofMillis(checkTimeoutMs)));
+            if (valid && !usernameKeyPresent) {
+                recordUsernameKey(hasUsernameKey(databaseClient.getObject()));
+            }
+            return valid;
+        }
+        return false;
+    }
+
+    // username 한 컬럼으로만 된 UNIQUE 인덱스가 있는지 (username이 앞에 오는 복합 키로는 중복을 막지 못함)
+    private static boolean hasUsernameKey(Connection conn) throws SQLException {
+        Map<String, List<String>> uniqueIndexes = new HashMap<>();
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(conn.getCatalog(), conn.getSchema(), "users", true, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName != null && column != null) {
+                    uniqueIndexes.computeIfAbsent(indexName, name -> new ArrayList<>()).add(column);
+                }
+            }
+        }
+        return uniqueIndexes.values().stream()
+                .anyMatch(columns -> columns.size() == 1 && columns.get(0).equalsIgnoreCase("username"));
+    }
+
+    private boolean hasUsernameKey(DatabaseClient client) {
+        Long count = client.sql("SELECT COUNT(*) AS cnt FROM ("
+                        + "SELECT index_name FROM information_schema.statistics"
+                        + " WHERE table_schema = DATABASE() AND table_name = 'users' AND non_unique = 0"
+                        + " GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'username') username_keys")
+                .map(row -> row.get("cnt", Long.class))
+                .first()
+                .block(Duration.ofMillis(checkTimeoutMs));
+        return count != null && count > 0;
+    }
+
+    private void recordUsernameKey(boolean present) {
+        if (present) {
+            usernameKeyPresent = true;
+            log.info("Unique key on users.username verified");
+        } else if (!usernameKeyMissingLogged) {
+            usernameKeyMissingLogged = true;
+            log.error("users.username has no unique key; staying not ready until migration V4 (uk_users_username) is applied");
+        }
+    }
+}
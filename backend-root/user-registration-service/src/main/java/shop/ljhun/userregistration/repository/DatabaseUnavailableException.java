@@ -0,0 +1,9 @@
+package shop.ljhun.userregistration.repository;
+
+// DB에 연결할 수 없거나 조회가 실패한 경우 (사용 가능한 username으로 오판하지 않도록 503으로 응답)
+public class DatabaseUnavailableException extends RuntimeException {
+
+    public DatabaseUnavailableException(Throwable cause) {
+        super("Database unavailable", cause);
+    }
+}
@@ -0,0 +1,11 @@
+package shop.ljhun.userregistration.repository;
+
+// write-behind 모드에서 202로 접수한 가입의 결과 (GET /app-one/register/status)
+public enum RegistrationStatus {
+    // username + email로 저장됨
+    REGISTERED,
+    // DB 반영 시 다른 가입이 username을 먼저 차지해 거절됨 (registration_rejections)
+    REJECTED,
+    // 아직 DB에 반영되지 않음 (journal 대기 중, 또는 접수된 적 없음)
+    PENDING
+}
@@ -0,0 +1,13 @@
+package shop.ljhun.userregistration.repository;
+
+// users INSERT 결과 (row 단위)
+public enum SaveResult {
+    CREATED,
+    DUPLICATE,
+    FAILED,
+    // write-behind 모드: journal에 기록(fsync)만 끝났고 DB 반영은 JournalReplayer가 나중에 함
+    ACCEPTED,
+    // 쓰기를 넘긴 뒤 결과를 기다리다 시간 초과: 이미 저장됐을 수 있으므로 실패로 알리지 않음
+    // (클라이언트는 다시 시도하기 전에 /register/available 로 확인)
+    UNKNOWN
+}
@@ -1,57 +1,290 @@
 package shop.ljhun.userregistration.repository;
 
+import shop.ljhun.userregistration.config.FailoverDataSource;
+import shop.ljhun.userregistration.logging.EventLog;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
 import shop.ljhun.userregistration.model.User;
-import org.springframework.beans.factory.annotation.Value;
+import shop.ljhun.userregistration.model.Usernames;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
+import java.util.*;
+import java.util.function.Consumer;
 
 @Repository
-public class UserRepository {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserRepository implements UsernameSource {
 
-    @Value("${DB_HOST:localhost}")
-    private String dbHost;
+    // DataSourceConfig에서 등록한 커넥션 풀 (close() 시 커넥션은 풀로 반환됨, primary 장애 시 standby로 전환)
+    @Autowired
+    private FailoverDataSource dataSource;
 
-    @Value("${DB_USER:root}")
-    private String dbUser;
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
 
-    @Value("${DB_PASSWORD:pass1234}")
-    private String dbPassword;
-
-    @Value("${DB_NAME:userdb}")
-    private String dbName;
+    @Autowired
+    private EventLog eventLog;
 
+    // DB 오류를 "없음"(사용 가능)으로 돌려주지 않도록 DatabaseUnavailableException으로 던짐 (컨트롤러에서 503)
     public boolean existsByUsername(String username) {
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM users WHERE username = ?")) {
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM users WHERE username = ?")) {
+                stmt.setString(1, username);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() && rs.getInt(1) > 0;
+                }
+            } catch (SQLException e) {
+                dataSource.recordFailure(conn, e);
+                throw e;
+            }
+        } catch (SQLException e) {
+            registrationMetrics.recordDbError("exists_by_username");
+            throw new DatabaseUnavailableException(e);
+        }
+    }
 
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() && rs.getInt(1) > 0;
+    // 사전 중복 조회 없이 INSERT 한 번으로 처리하고, username UNIQUE 제약 위반(1062)을 중복으로 판정
+    public SaveResult save(User user) {
+        try (Connection conn = getWriteConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO users (username, password, email) VALUES (?, ?, ?)")) {
+                stmt.setString(1, user.getUsername());
+                stmt.setString(2, user.getPassword());
+                stmt.setString(3, user.getEmail());
+                stmt.executeUpdate();
+                return SaveResult.CREATED;
+            } catch (SQLException e) {
+                dataSource.recordFailure(conn, e);
+                throw e;
+            }
+        } catch (SQLException e) {
+            if (isDuplicateKey(e)) {
+                return SaveResult.DUPLICATE;
+            }
+            registrationMetrics.recordDbError("save");
+            eventLog.error("save", e);
+            return SaveResult.FAILED;
+        }
+    }
+
+    // 여러 요청의 INSERT를 한 트랜잭션, 한 번의 multi-row INSERT로 묶어서 저장 (RegistrationBatcher에서 사용)
+    // 반환 리스트는 users와 같은 순서로 row별 결과를 담음
+    // COMMIT 자체가 실패하면 반영 여부를 알 수 없으므로 CommitUncertainException (그 전 단계의 실패는 롤백된 것이 확실한 SQLException)
+    public List<SaveResult> saveAll(List<User> users) throws SQLException {
+        SaveResult[] results = new SaveResult[users.size()];
+        boolean committed = false;
+
+        // 같은 배치 안에서 중복된 username은 먼저 들어온 요청만 저장
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            if (pending.putIfAbsent(usernameKey(users.get(i).getUsername()), i) != null) {
+                results[i] = SaveResult.DUPLICATE;
+            }
+        }
+
+        try (Connection conn = getWriteConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (String existing : findExistingUsernames(conn, pending.keySet())) {
+                    Integer index = pending.remove(usernameKey(existing));
+                    if (index != null) {
+                        results[index] = SaveResult.DUPLICATE;
+                    }
+                }
 
+                try {
+                    insertRows(conn, users, pending.values());
+                    pending.values().forEach(i -> results[i] = SaveResult.CREATED);
+                } catch (SQLException e) {
+                    if (!isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    // 조회 이후 다른 파드가 같은 username을 먼저 넣은 경우: 같은 트랜잭션에서 row 단위로 다시 시도
+                    for (int index : pending.values()) {
+                        try {
+                            insertRows(conn, users, List.of(index));
+                            results[index] = SaveResult.CREATED;
+                        } catch (SQLException rowError) {
+                            if (!isDuplicateKey(rowError)) {
+                                throw rowError;
+                            }
+                            results[index] = SaveResult.DUPLICATE;
+                        }
+                    }
+                }
+                commit(conn, results);
+                committed = true;
+            } catch (SQLException e) {
+                dataSource.recordFailure(conn, e);
+                // 끊긴 연결에서는 rollback/autocommit 복구도 실패하므로 원래 예외(특히 CommitUncertainException)를 덮지 않도록 suppressed로 붙임
+                try {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                } catch (SQLException cleanupError) {
+                    e.addSuppressed(cleanupError);
+                }
+                throw e;
+            }
+            conn.setAutoCommit(true);
         } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
+            if (!committed) {
+                throw e;
+            }
+            // 커밋 이후 autocommit 복구나 커넥션 반환만 실패: row는 이미 저장됨
+            eventLog.error("save_batch_cleanup", e);
         }
+        return Arrays.asList(results);
     }
 
-    public void save(User user) {
+    private static void commit(Connection conn, SaveResult[] results) throws SQLException {
+        try {
+            conn.commit();
+        } catch (SQLTransactionRollbackException e) {
+            // 커밋 시점의 데드락/직렬화 실패는 DB가 롤백을 확정한 경우
+            throw e;
+        } catch (SQLException e) {
+            List<SaveResult> uncertain = new ArrayList<>(results.length);
+            for (SaveResult result : results) {
+                uncertain.add(result == SaveResult.CREATED ? SaveResult.UNKNOWN : result);
+            }
+            throw new CommitUncertainException(e, uncertain);
+        }
+    }
+
+    private List<String> findExistingUsernames(Connection conn, Collection<String> usernames) throws SQLException {
+        if (usernames.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT username FROM users WHERE username IN ("
+                + String.join(", ", Collections.nCopies(usernames.size(), "?")) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int param = 1;
+            for (String username : usernames) {
+                stmt.setString(param++, username);
+            }
+            List<String> existing = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                }
+            }
+            return existing;
+        }
+    }
+
+    private void insertRows(Connection conn, List<User> users, Collection<Integer> indexes) throws SQLException {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO users (username, password, email) VALUES "
+                + String.join(", ", Collections.nCopies(indexes.size(), "(?, ?, ?)"));
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int param = 1;
+            for (int index : indexes) {
+                User user = users.get(index);
+                stmt.setString(param++, user.getUsername());
+                stmt.setString(param++, user.getPassword());
+                stmt.setString(param++, user.getEmail());
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    // MySQL ER_DUP_ENTRY(1062), 표준 SQLState 23505 (H2 등)
+    private static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+
+    // 배치 내 중복 비교도 username UNIQUE 키와 같은 기준
+    private static String usernameKey(String username) {
+        return Usernames.key(username);
+    }
+
+    // journal replay에서 DUPLICATE가 난 record가 이미 들어간 자기 자신인지 (반영 후 checkpoint 전에 재시작한 경우)
+    // bcrypt 해시는 salt가 매번 달라 같은 해시가 저장돼 있으면 같은 요청
+    public boolean isStored(User user) throws SQLException {
         try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT password FROM users WHERE username = ?")) {
+
+            stmt.setString(1, user.getUsername());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getString(1).equals(user.getPassword());
+            }
+        }
+    }
+
+    // 202로 접수했지만 다른 가입에 username이 밀린 요청 (같은 username + email은 한 번만)
+    public void recordRejection(User user) throws SQLException {
+        try (Connection conn = getWriteConnection();
              PreparedStatement stmt = conn.prepareStatement(
-                     "INSERT INTO users (username, password, email) VALUES (?, ?, ?)")) {
+                     "INSERT IGNORE INTO registration_rejections (username, email) VALUES (?, ?)")) {
 
             stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPassword());
-            stmt.setString(3, user.getEmail());
+            stmt.setString(2, user.getEmail());
             stmt.executeUpdate();
+        }
+    }
 
+    public RegistrationStatus findRegistrationStatus(String username, String email) {
+        try (Connection conn = getConnection()) {
+            if (exists(conn, "SELECT COUNT(*) FROM users WHERE username = ? AND email = ?", username, email)) {
+                return RegistrationStatus.REGISTERED;
+            }
+            if (exists(conn, "SELECT COUNT(*) FROM registration_rejections WHERE username = ? AND email = ?", username, email)) {
+                return RegistrationStatus.REJECTED;
+            }
+            return RegistrationStatus.PENDING;
         } catch (SQLException e) {
-            e.printStackTrace();
+            registrationMetrics.recordDbError("find_registration_status");
+            throw new DatabaseUnavailableException(e);
         }
     }
 
+    private static boolean exists(Connection conn, String sql, String username, String email) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, username);
+            stmt.setString(2, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    // id > afterId 인 username을 최대 limit개 읽어 consumer에 전달하고, 마지막으로 읽은 id를 반환 (없으면 afterId 그대로)
+    @Override
+    public long forEachUsernameAfter(long afterId, int limit, Consumer<String> consumer) throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT id, username FROM users WHERE id > ? ORDER BY id LIMIT ?")) {
+
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+            long lastId = afterId;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lastId = rs.getLong(1);
+                    consumer.accept(rs.getString(2));
+                }
+            }
+            return lastId;
+        }
+    }
+
+    // 풀에서 커넥션을 받는 시간(풀 고갈 시 대기 포함)을 쿼리 시간과 따로 기록
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-                "jdbc:mysql://" + dbHost + ":3306/" + dbName, dbUser, dbPassword);
+        long started = System.nanoTime();
+        Connection conn = dataSource.getConnection();
+        registrationMetrics.recordStage(RegistrationMetrics.Stage.CONNECTION_ACQUIRE, System.nanoTime() - started);
+        return conn;
+    }
+
+    // INSERT용: primary 또는 승격된 standby (승격 전 standby에는 쓰지 않음)
+    private Connection getWriteConnection() throws SQLException {
+        long started = System.nanoTime();
+        Connection conn = dataSource.getWriteConnection();
+        registrationMetrics.recordStage(RegistrationMetrics.Stage.CONNECTION_ACQUIRE, System.nanoTime() - started);
+        return conn;
     }
 }
\ No newline at end of file
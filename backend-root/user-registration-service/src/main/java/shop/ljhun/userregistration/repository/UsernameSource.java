@@ -0,0 +1,12 @@
+package shop.ljhun.userregistration.repository;
+
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+// UsernameIndex 동기화용 username 목록 조회
+// servlet 모드는 UserRepository(JDBC), reactive 모드는 ReactiveUserRepository(R2DBC)가 구현 (모드마다 한 Bean만 생성됨)
+public interface UsernameSource {
+
+    // id > afterId 인 username을 id 순서로 최대 limit개 consumer에 전달하고, 마지막으로 읽은 id를 반환 (없으면 afterId 그대로)
+    long forEachUsernameAfter(long afterId, int limit, Consumer<String> consumer) throws SQLException;
+}
@@ -0,0 +1,182 @@
+package shop.ljhun.userregistration.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// bcrypt 해싱/검증을 Tomcat 요청 스레드가 아닌 전용 워커 풀에서 수행
+// - 풀 크기와 대기 큐가 고정되어 있어 해싱 폭주가 요청 스레드 전체를 잡아먹지 않음 (큐가 차면 즉시 거절)
+// - cost는 모든 파드(로그인/가입 서비스 포함)에서 같은 PASSWORD_HASH_COST 사용: 파드마다 다르면 서로 만든 해시를 계속 재해싱함
+//   PASSWORD_HASH_CALIBRATE=true면 기동 시 목표 지연시간에 맞는 cost를 측정해 로그로만 알려 줌 (적용은 PASSWORD_HASH_COST 변경으로)
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+
+    public enum Verification {
+        MATCH,
+        MATCH_NEEDS_REHASH,
+        MISMATCH
+    }
+
+    @Value("${PASSWORD_HASH_COST:10}")
+    private int configuredCost;
+
+    @Value("${PASSWORD_HASH_CALIBRATE:false}")
+    private boolean calibrate;
+
+    @Value("${PASSWORD_HASH_TARGET_MS:100}")
+    private long targetMs;
+
+    @Value("${PASSWORD_HASH_THREADS:0}")
+    private int threads;
+
+    @Value("${PASSWORD_HASH_QUEUE_CAPACITY:64}")
+    private int queueCapacity;
+
+    @Value("${PASSWORD_HASH_TIMEOUT_MS:2000}")
+    private long timeoutMs;
+
+    private final SecureRandom random = new SecureRandom();
+    private ThreadPoolExecutor executor;
+    private volatile int cost;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        cost = configuredCost;
+        if (calibrate) {
+            int recommended = calibrate(targetMs);
+            if (recommended != cost) {
+                log.warn("Calibrated bcrypt cost {} differs from PASSWORD_HASH_COST {}, update PASSWORD_HASH_COST on every pod to apply it",
+                        recommended, cost);
+            }
+        }
+        log.info("Password hashing uses bcrypt cost {} on {} worker threads", cost, poolSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    // *Async 결과를 기다리는 쪽(reactive 스택)이 동기 호출과 같은 제한 시간을 쓰도록
+    public Duration getTimeout() {
+        return Duration.ofMillis(timeoutMs);
+    }
+
+    public String hash(String rawPassword) {
+        return await(hashAsync(rawPassword));
+    }
+
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        int currentCost = cost;
+        return supply(() -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(currentCost, random)));
+    }
+
+    public Verification verify(String rawPassword, String stored) {
+        return await(verifyAsync(rawPassword, stored));
+    }
+
+    // stored가 bcrypt 해시가 아니면 기존 평문 row로 보고 비교 후 재해싱 대상으로 표시
+    // (reactive 스택에서는 이 메서드로 event loop를 막지 않고 결과를 받음)
+    public CompletableFuture<Verification> verifyAsync(String rawPassword, String stored) {
+        if (!isBcrypt(stored)) {
+            boolean match = MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+            return CompletableFuture.completedFuture(match ? Verification.MATCH_NEEDS_REHASH : Verification.MISMATCH);
+        }
+
+        return supply(() -> {
+            if (!BCrypt.checkpw(rawPassword, stored)) {
+                return Verification.MISMATCH;
+            }
+            // 더 낮은 cost만 올림 (더 높은 cost의 해시를 낮추지 않음)
+            return costOf(stored) < cost ? Verification.MATCH_NEEDS_REHASH : Verification.MATCH;
+        });
+    }
+
+    // 현재 CPU에서 해시 1회가 targetMs를 넘지 않는 가장 큰 cost (보안상 MIN_COST 미만으로는 내려가지 않음)
+    int calibrate(long targetMillis) {
+        int chosen = MIN_COST;
+        for (int candidate = MIN_COST; candidate <= MAX_COST; candidate++) {
+            long elapsed = Long.MAX_VALUE;
+            for (int run = 0; run < 2; run++) {
+                long start = System.nanoTime();
+                BCrypt.hashpw("calibration-password", BCrypt.gensalt(candidate, random));
+                elapsed = Math.min(elapsed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            if (elapsed > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+        log.info("Calibrated bcrypt cost {} for target {} ms", chosen, targetMillis);
+        return chosen;
+    }
+
+    private <T> CompletableFuture<T> supply(Callable<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingException("Password hashing queue is full", e);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingException("Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            throw new PasswordHashingException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public static boolean isBcrypt(String stored) {
+        return stored.length() == 60 && stored.startsWith("$2") && stored.charAt(3) == '$';
+    }
+
+    // $2a$10$... 형식에서 cost 추출
+    private static int costOf(String hash) {
+        return Integer.parseInt(hash.substring(4, 6));
+    }
+}
@@ -0,0 +1,250 @@
+package shop.ljhun.userregistration.security;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// DB 조회 없이 메모리에서 검증 가능한 HMAC-SHA256 서명 토큰
+// 형식: <kid>.<base64url(type|exp|username)>.<base64url(HMAC(kid.payload))>
+// - AUTH_TOKEN_KEYS="kid1:base64키,kid2:base64키" : 첫 번째 키로 서명, 나열된 모든 키로 검증 (키 교체 시 새 키를 앞에 추가)
+// - 모든 파드/서비스/클라우드가 같은 키를 써야 하므로 미설정이면 기동 실패 (로컬 개발만 AUTH_TOKEN_EPHEMERAL_KEY=true로 파드별 임시 키 허용)
+// - 키별로 초기화된 Mac을 미리 만들어 두고 clone()으로 재사용 (요청마다 init 하지 않음)
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    public static final char ACCESS = 'a';
+    public static final char REFRESH = 'r';
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    @Value("${AUTH_TOKEN_KEYS:}")
+    private String configuredKeys;
+
+    @Value("${AUTH_TOKEN_EPHEMERAL_KEY:false}")
+    private boolean allowEphemeralKey;
+
+    @Value("${AUTH_ACCESS_TOKEN_TTL_SECONDS:900}")
+    private long accessTtlSeconds;
+
+    @Value("${AUTH_REFRESH_TOKEN_TTL_SECONDS:604800}")
+    private long refreshTtlSeconds;
+
+    private final Map<String, SigningKey> keys = new LinkedHashMap<>();
+    private SigningKey activeKey;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        if (configuredKeys.isBlank()) {
+            if (!allowEphemeralKey) {
+                throw new IllegalStateException("AUTH_TOKEN_KEYS is not set (AUTH_TOKEN_EPHEMERAL_KEY=true allows a per-pod key for local development)");
+            }
+            // 로컬 개발용 파드 단위 임시 키 (다른 파드/서비스에서는 검증 불가)
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            addKey("local", secret);
+            log.warn("AUTH_TOKEN_KEYS is not set, tokens are signed with an ephemeral per-pod key");
+        } else {
+            for (String entry : configuredKeys.split(",")) {
+                int colon = entry.indexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalArgumentException("AUTH_TOKEN_KEYS entries must be kid:base64secret");
+                }
+                addKey(entry.substring(0, colon).trim(), Base64.getDecoder().decode(entry.substring(colon + 1).trim()));
+            }
+        }
+        activeKey = keys.values().iterator().next();
+    }
+
+    private void addKey(String kid, byte[] secret) throws GeneralSecurityException {
+        Mac prototype = Mac.getInstance(ALGORITHM);
+        prototype.init(new SecretKeySpec(secret, ALGORITHM));
+        keys.put(kid, new SigningKey(kid, prototype));
+    }
+
+    public long getAccessTtlSeconds() {
+        return accessTtlSeconds;
+    }
+
+    public String issueAccessToken(String username) {
+        return issue(ACCESS, username, accessTtlSeconds);
+    }
+
+    public String issueRefreshToken(String username) {
+        return issue(REFRESH, username, refreshTtlSeconds);
+    }
+
+    private String issue(char type, String username, long ttlSeconds) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((type + "|" + expiresAt + "|" + username).getBytes(StandardCharsets.UTF_8));
+        String signed = activeKey.kid + "." + payload;
+
+        MacSlot slot = activeKey.acquire();
+        try {
+            byte[] bytes = signed.getBytes(StandardCharsets.US_ASCII);
+            slot.mac.update(bytes, 0, bytes.length);
+            slot.mac.doFinal(slot.expected, 0);
+            return signed + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(slot.expected);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            activeKey.release(slot);
+        }
+    }
+
+    // 서명, 만료, 토큰 종류를 모두 확인하고 username을 반환 (유효하지 않으면 null)
+    public String verify(String token, char expectedType) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.length() - secondDot - 1 != 43) {
+            return null;
+        }
+
+        SigningKey key = keys.get(token.substring(0, firstDot));
+        if (key == null) {
+            return null;
+        }
+
+        MacSlot slot = key.acquire();
+        byte[] payload;
+        try {
+            byte[] input = slot.input(secondDot);
+            for (int i = 0; i < secondDot; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    return null;
+                }
+                input[i] = (byte) c;
+            }
+            slot.mac.update(input, 0, secondDot);
+            slot.mac.doFinal(slot.expected, 0);
+            if (!decodeSignature(token, secondDot + 1, slot.actual)
+                    || !MessageDigest.isEqual(slot.expected, slot.actual)) {
+                return null;
+            }
+            payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return null;
+        } finally {
+            key.release(slot);
+        }
+        return parsePayload(payload, expectedType);
+    }
+
+    private static String parsePayload(byte[] payload, char expectedType) {
+        if (payload.length < 4 || payload[0] != expectedType || payload[1] != '|') {
+            return null;
+        }
+        long expiresAt = 0;
+        int i = 2;
+        for (; i < payload.length && payload[i] != '|'; i++) {
+            int digit = payload[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            expiresAt = expiresAt * 10 + digit;
+        }
+        if (i >= payload.length - 1 || expiresAt <= System.currentTimeMillis() / 1000) {
+            return null;
+        }
+        return new String(payload, i + 1, payload.length - i - 1, StandardCharsets.UTF_8);
+    }
+
+    // base64url(32바이트, 패딩 없음 = 43자)를 미리 할당된 버퍼에 디코딩
+    private static boolean decodeSignature(String token, int offset, byte[] out) {
+        int buffer = 0;
+        int bits = 0;
+        int written = 0;
+        for (int i = offset; i < token.length(); i++) {
+            int value = base64UrlValue(token.charAt(i));
+            if (value < 0) {
+                return false;
+            }
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                if (written == out.length) {
+                    return false;
+                }
+                out[written++] = (byte) (buffer >> bits);
+            }
+        }
+        return written == out.length;
+    }
+
+    private static int base64UrlValue(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-') return 62;
+        if (c == '_') return 63;
+        return -1;
+    }
+
+    // 키 하나에 대해 clone 해 둔 Mac들을 락 없이 빌려 쓰고 반납하는 풀
+    private static final class SigningKey {
+        final String kid;
+        final Mac prototype;
+        final ConcurrentLinkedQueue<MacSlot> idle = new ConcurrentLinkedQueue<>();
+
+        SigningKey(String kid, Mac prototype) {
+            this.kid = kid;
+            this.prototype = prototype;
+        }
+
+        MacSlot acquire() {
+            MacSlot slot = idle.poll();
+            if (slot != null) {
+                return slot;
+            }
+            try {
+                return new MacSlot((Mac) prototype.clone());
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void release(MacSlot slot) {
+            slot.mac.reset();
+            idle.offer(slot);
+        }
+    }
+
+    private static final class MacSlot {
+        final Mac mac;
+        final byte[] expected = new byte[MAC_LENGTH];
+        final byte[] actual = new byte[MAC_LENGTH];
+        private byte[] input = new byte[128];
+
+        MacSlot(Mac mac) {
+            this.mac = mac;
+        }
+
+        byte[] input(int length) {
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            return input;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package shop.ljhun.userregistration.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 락 없이 동시에 put / mightContain 가능한 비트셋 기반 Bloom filter
+// mightContain()이 false면 "확실히 없음", true면 "있을 수도 있음" (오탐률 fpp)
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedInsertions, double fpp) {
+        long expected = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (optimalBits + 63) >>> 6);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    void put(String value) {
+        long h1 = hash(value, 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        long combined = h1;
+        for (int i = 0; i < hashCount; i++) {
+            setBit(Math.floorMod(combined, bitCount));
+            combined += h2;
+        }
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value, 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        long combined = h1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(combined, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += h2;
+        }
+        return true;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        while (((current = words.get(index)) & mask) == 0) {
+            if (words.compareAndSet(index, current, current | mask)) {
+                return;
+            }
+        }
+    }
+
+    // FNV-1a(시드 적용) + murmur3 fmix64
+    private static long hash(String value, long seed) {
+        long h = seed ^ 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
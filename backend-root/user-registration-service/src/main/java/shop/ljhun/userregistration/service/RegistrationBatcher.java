@@ -0,0 +1,202 @@
+package shop.ljhun.userregistration.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.CommitUncertainException;
+import shop.ljhun.userregistration.repository.SaveResult;
+import shop.ljhun.userregistration.repository.UserRepository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Group commit: 동시에 들어온 가입 요청을 짧은 시간(window) 또는 최대 N건까지 모아서
+// 한 트랜잭션의 multi-row INSERT로 저장 (fsync 횟수를 요청 수 -> 배치 수로 줄임)
+// 요청 스레드는 자기 row의 결과(CREATED / DUPLICATE / FAILED / UNKNOWN)를 동기적으로 받음
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RegistrationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationBatcher.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @Value("${REGISTRATION_BATCH_ENABLED:false}")
+    private boolean enabled;
+
+    @Value("${REGISTRATION_BATCH_WINDOW_MS:5}")
+    private long windowMs;
+
+    @Value("${REGISTRATION_BATCH_MAX_SIZE:100}")
+    private int maxSize;
+
+    @Value("${REGISTRATION_BATCH_QUEUE_CAPACITY:10000}")
+    private int queueCapacity;
+
+    @Value("${REGISTRATION_BATCH_TIMEOUT_MS:5000}")
+    private long timeoutMs;
+
+    private BlockingQueue<PendingInsert> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private DistributionSummary batchFill;
+    private Timer queueWait;
+    private Timer flushTime;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchFill = DistributionSummary.builder("registration.batch.fill")
+                .description("Rows per group-commit batch")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        queueWait = Timer.builder("registration.batch.queue.wait")
+                .description("Time a registration waited in the batch queue before its flush started")
+                .register(meterRegistry);
+        flushTime = Timer.builder("registration.batch.flush")
+                .description("Time to write one batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("registration.batch.queue.size", queue, BlockingQueue::size);
+
+        running = true;
+        writer = new Thread(this::runWriter, "registration-batch-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(timeoutMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 큐에 넣지 못했거나, 시간 초과 시점에 아직 큐에 남아 있어 꺼낼 수 있으면 FAILED (쓰이지 않음이 확실)
+    // writer가 이미 가져간 뒤의 시간 초과는 커밋됐을 수 있으므로 UNKNOWN
+    public SaveResult submit(User user) {
+        PendingInsert pending = new PendingInsert(user);
+        try {
+            if (!queue.offer(pending, timeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Registration batch queue is full, rejecting {}", user.getUsername());
+                return SaveResult.FAILED;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SaveResult.FAILED;
+        }
+        try {
+            return pending.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return queue.remove(pending) ? SaveResult.FAILED : SaveResult.UNKNOWN;
+        } catch (ExecutionException | TimeoutException e) {
+            if (queue.remove(pending)) {
+                return SaveResult.FAILED;
+            }
+            log.warn("Registration batch did not complete for {}: {}", user.getUsername(), e.toString());
+            return SaveResult.UNKNOWN;
+        }
+    }
+
+    private void runWriter() {
+        List<PendingInsert> batch = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 요청을 꺼낸 시점부터 window 동안만 추가로 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingInsert next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        queue.drainTo(batch, maxSize - batch.size());
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Registration batch writer failed", e);
+                batch.forEach(p -> p.result.complete(SaveResult.FAILED));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        long flushStart = System.nanoTime();
+        List<User> users = new ArrayList<>(batch.size());
+        for (PendingInsert pending : batch) {
+            queueWait.record(flushStart - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+            users.add(pending.user);
+        }
+        batchFill.record(batch.size());
+
+        List<SaveResult> results;
+        try {
+            results = userRepository.saveAll(users);
+        } catch (CommitUncertainException e) {
+            // COMMIT이 DB에 반영됐을 수 있음: 저장하려던 row는 FAILED가 아니라 UNKNOWN (클라이언트가 다시 확인)
+            registrationMetrics.recordDbError("save_batch");
+            log.error("Registration batch of {} rows has an unknown commit outcome: {}", batch.size(), e.getMessage());
+            results = e.results();
+        } catch (SQLException e) {
+            registrationMetrics.recordDbError("save_batch");
+            log.error("Registration batch of {} rows failed: {}", batch.size(), e.getMessage());
+            results = null;
+        }
+        flushTime.record(System.nanoTime() - flushStart, TimeUnit.NANOSECONDS);
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(results == null ? SaveResult.FAILED : results.get(i));
+        }
+    }
+
+    private static final class PendingInsert {
+        final User user;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<SaveResult> result = new CompletableFuture<>();
+
+        PendingInsert(User user) {
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package shop.ljhun.userregistration.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// 같은 key의 작업이 이미 진행 중이면 새로 실행하지 않고 그 결과(또는 예외)를 함께 받음
+// 완료되면 바로 map에서 빠지므로 캐시가 아님 (끝난 뒤 들어온 요청은 다시 실행)
+// ConcurrentHashMap은 bin 단위로 잠그므로 서로 다른 key끼리는 막지 않음 (전역 lock 없음)
+// 합쳐진 비율: <name>.singleflight{role=follower} / 전체
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, String operation, MeterRegistry meterRegistry) {
+        this.leaders = counter(name, operation, "leader", meterRegistry);
+        this.followers = counter(name, operation, "follower", meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            followers.increment();
+            return await(running);
+        }
+
+        leaders.increment();
+        try {
+            V result = work.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // 먼저 실행한 요청과 같은 예외로 처리되도록 (예: DatabaseUnavailableException → 503)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(String name, String operation, String role, MeterRegistry meterRegistry) {
+        return Counter.builder(name + ".singleflight")
+                .description("Lookups that ran (leader) or shared an identical in-flight lookup (follower)")
+                .tag("operation", operation)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,399 @@
+package shop.ljhun.userregistration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
+import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.repository.CommitUncertainException;
+import shop.ljhun.userregistration.repository.SaveResult;
+import shop.ljhun.userregistration.repository.UserRepository;
+import shop.ljhun.userregistration.security.PasswordHasher;
+import shop.ljhun.userregistration.security.PasswordHashingException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 대량 가입 import (파트너 이관, DR 리전 재적재)
+// - 입력: NDJSON(한 줄에 {"username","password","email"}) 또는 CSV(첫 줄 header: username,password,email 순서 무관)
+// - 한 줄씩 읽어 User와 같은 규칙으로 검증하고, REGISTRATION_IMPORT_CHUNK건마다 saveAll(한 트랜잭션의 multi-row INSERT)
+// - 출력: NDJSON으로 실패한 줄(line, error)과 chunk마다 진행 상황을 바로 flush, 마지막 줄에 합계
+// 메모리에는 한 줄 버퍼와 chunk 하나만 두므로 입력 크기와 관계없이 일정
+// password가 이미 bcrypt 해시면(다른 리전 DB 덤프 등) 그대로 저장, 아니면 PasswordHasher로 해싱
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImporter.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @Value("${REGISTRATION_IMPORT_CHUNK:1000}")
+    private int chunkSize;
+
+    // 한 줄 상한 (가입 요청 본문 상한과 같은 값)
+    @Value("${REGISTRATION_MAX_BODY_BYTES:4096}")
+    private int maxLineBytes;
+
+    // 가입 요청이 해싱 풀에서 밀리지 않도록 import가 동시에 맡기는 해싱 작업 수를 제한
+    @Value("${REGISTRATION_IMPORT_HASH_CONCURRENCY:4}")
+    private int hashConcurrency;
+
+    public void importUsers(InputStream in, Format format, OutputStream out) throws IOException {
+        LineReader reader = new LineReader(in, maxLineBytes);
+        Counts counts = new Counts();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        String[] columns = null;
+
+        byte[] line;
+        while ((line = reader.next()) != null) {
+            long lineNumber = reader.lineNumber();
+            if (line.length == 0 && !reader.truncated()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null && !reader.truncated()) {
+                columns = parseCsv(new String(line, StandardCharsets.UTF_8).replace("\uFEFF", "")).stream()
+                        .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                        .toArray(String[]::new);
+                continue;
+            }
+            counts.lines++;
+            if (reader.truncated()) {
+                reject(out, counts, lineNumber, null, "Line exceeds " + maxLineBytes + " bytes");
+                continue;
+            }
+
+            User user = format == Format.CSV
+                    ? toUser(columns, parseCsv(new String(line, StandardCharsets.UTF_8)))
+                    : parseJson(line);
+            if (user == null) {
+                reject(out, counts, lineNumber, null, "Malformed record");
+                continue;
+            }
+
+            Set<ConstraintViolation<User>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                reject(out, counts, lineNumber, user.getUsername(), violations.iterator().next().getMessage());
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, user));
+            if (chunk.size() == chunkSize && !flush(chunk, counts, out)) {
+                return;
+            }
+        }
+        if (!chunk.isEmpty() && !flush(chunk, counts, out)) {
+            return;
+        }
+        write(out, counts.summary(true, null));
+        out.flush();
+    }
+
+    // chunk 하나를 해싱 후 저장하고 결과를 출력, DB 오류면 false (이후 입력은 읽지 않고 중단)
+    private boolean flush(List<Row> chunk, Counts counts, OutputStream out) throws IOException {
+        List<User> users = new ArrayList<>(chunk.size());
+        try {
+            hashPasswords(chunk);
+            for (Row row : chunk) {
+                users.add(row.user);
+            }
+            List<SaveResult> results = userRepository.saveAll(users);
+            for (int i = 0; i < chunk.size(); i++) {
+                Row row = chunk.get(i);
+                if (results.get(i) == SaveResult.CREATED) {
+                    counts.created++;
+                    usernameIndex.add(row.user.getUsername());
+                } else {
+                    counts.duplicates++;
+                    usernameIndex.markTaken(row.user.getUsername());
+                    write(out, error(row.line, row.user.getUsername(), "Username already exists"));
+                }
+            }
+            counts.committedThroughLine = chunk.get(chunk.size() - 1).line;
+            write(out, Map.of("progress", counts.summary(false, null)));
+            out.flush();
+            return true;
+        } catch (SQLException | PasswordHashingException e) {
+            if (e instanceof SQLException) {
+                registrationMetrics.recordDbError("import");
+            }
+            log.warn("User import stopped after line {}: {}", counts.committedThroughLine, e.getMessage());
+            // COMMIT 결과를 모르는 chunk는 unknown으로 따로 셈 (committedThroughLine 이후를 다시 보내면 이미 저장된 row는 중복으로 나옴)
+            if (e instanceof CommitUncertainException) {
+                counts.unknown += chunk.size();
+            } else {
+                counts.failed += chunk.size();
+            }
+            write(out, counts.summary(true, e.getMessage()));
+            out.flush();
+            return false;
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    // 동시에 hashConcurrency건까지만 해싱 풀에 맡기고 순서대로 결과를 받음
+    private void hashPasswords(List<Row> chunk) {
+        Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>(hashConcurrency);
+        Deque<Row> waiting = new ArrayDeque<>(hashConcurrency);
+        for (Row row : chunk) {
+            if (PasswordHasher.isBcrypt(row.user.getPassword())) {
+                continue;
+            }
+            if (inFlight.size() == hashConcurrency) {
+                waiting.poll().user.setPassword(join(inFlight.poll()));
+            }
+            inFlight.add(submitHash(row.user.getPassword()));
+            waiting.add(row);
+        }
+        while (!inFlight.isEmpty()) {
+            waiting.poll().user.setPassword(join(inFlight.poll()));
+        }
+    }
+
+    // 해싱 풀 대기 큐가 가입 요청으로 차 있으면 잠시 기다렸다가 다시 맡김 (최대 약 1초)
+    private CompletableFuture<String> submitHash(String rawPassword) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return passwordHasher.hashAsync(rawPassword);
+            } catch (PasswordHashingException e) {
+                if (attempt == 50) {
+                    throw e;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            }
+        }
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new PasswordHashingException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void reject(OutputStream out, Counts counts, long line, String username, String message) throws IOException {
+        counts.invalid++;
+        write(out, error(line, username, message));
+    }
+
+    private static Map<String, Object> error(long line, String username, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("line", line);
+        if (username != null) {
+            error.put("username", username);
+        }
+        error.put("error", message);
+        return error;
+    }
+
+    // 줄마다 flush하지 않고 chunk 진행 상황을 쓸 때 한 번에 flush (그 사이 오류 줄은 출력 버퍼가 차면 나감)
+    private static void write(OutputStream out, Map<String, Object> record) throws IOException {
+        out.write(OBJECT_MAPPER.writeValueAsBytes(record));
+        out.write('\n');
+    }
+
+    private static User parseJson(byte[] line) {
+        try {
+            return OBJECT_MAPPER.readValue(line, User.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static User toUser(String[] columns, List<String> fields) {
+        if (fields.size() != columns.length) {
+            return null;
+        }
+        User user = new User();
+        for (int i = 0; i < columns.length; i++) {
+            switch (columns[i]) {
+                case "username" -> user.setUsername(fields.get(i));
+                case "password" -> user.setPassword(fields.get(i));
+                case "email" -> user.setEmail(fields.get(i));
+                default -> {
+                }
+            }
+        }
+        return user;
+    }
+
+    // RFC 4180의 한 줄 레코드: 쉼표 구분, 큰따옴표로 감싼 필드 안의 쉼표와 "" 이스케이프 (필드 안 줄바꿈은 지원하지 않음)
+    static List<String> parseCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long line, User user) {
+    }
+
+    private static final class Counts {
+        long lines;
+        long created;
+        long duplicates;
+        long invalid;
+        long failed;
+        long unknown;
+        long committedThroughLine;
+
+        Map<String, Object> summary(boolean done, String error) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            if (done) {
+                summary.put("done", error == null);
+            }
+            summary.put("lines", lines);
+            summary.put("created", created);
+            summary.put("duplicates", duplicates);
+            summary.put("invalid", invalid);
+            if (done) {
+                summary.put("failed", failed);
+                summary.put("unknown", unknown);
+                summary.put("committedThroughLine", committedThroughLine);
+            }
+            if (error != null) {
+                summary.put("error", error);
+            }
+            return summary;
+        }
+    }
+
+    // 줄 단위로 읽되 한 줄이 maxBytes를 넘으면 나머지는 버리고 truncated로 표시 (긴 줄 하나로 메모리가 늘지 않도록)
+    static final class LineReader {
+
+        private final InputStream in;
+        private final int maxBytes;
+        private final byte[] buffer = new byte[8192];
+        private final ByteArrayOutputStream line;
+        private int position;
+        private int limit;
+        private long lineNumber;
+        private boolean truncated;
+
+        LineReader(InputStream in, int maxBytes) {
+            this.in = in;
+            this.maxBytes = maxBytes;
+            this.line = new ByteArrayOutputStream(Math.min(maxBytes, 1024));
+        }
+
+        byte[] next() throws IOException {
+            line.reset();
+            truncated = false;
+            boolean any = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        if (!any) {
+                            return null;
+                        }
+                        break;
+                    }
+                }
+                any = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    break;
+                }
+            }
+            lineNumber++;
+            byte[] bytes = line.toByteArray();
+            // CRLF 입력
+            if (bytes.length > 0 && bytes[bytes.length - 1] == '\r') {
+                return Arrays.copyOf(bytes, bytes.length - 1);
+            }
+            return bytes;
+        }
+
+        long lineNumber() {
+            return lineNumber;
+        }
+
+        boolean truncated() {
+            return truncated;
+        }
+
+        private void append(int from, int to) {
+            int room = maxBytes - line.size();
+            int length = to - from;
+            if (length > room) {
+                truncated = true;
+                length = Math.max(room, 0);
+            }
+            line.write(buffer, from, length);
+        }
+    }
+}
@@ -1,11 +1,23 @@
 package shop.ljhun.userregistration.service;
 
+import shop.ljhun.userregistration.journal.RegistrationJournal;
+import shop.ljhun.userregistration.metrics.RegistrationMetrics;
 import shop.ljhun.userregistration.model.User;
+import shop.ljhun.userregistration.model.Usernames;
+import shop.ljhun.userregistration.repository.DatabaseUnavailableException;
+import shop.ljhun.userregistration.repository.RegistrationStatus;
+import shop.ljhun.userregistration.repository.SaveResult;
 import shop.ljhun.userregistration.repository.UserRepository;
+import shop.ljhun.userregistration.security.PasswordHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
 
+
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserService {
 
     //int i = 0;
@@ -13,11 +25,101 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private RegistrationBatcher registrationBatcher;
+
+    @Autowired
+    private RegistrationJournal registrationJournal;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 가입 화면 재전송 등으로 같은 username 조회가 동시에 여러 번 들어오면 DB 조회는 한 번만 (MySQL collation에 맞춰 소문자 key)
+    private SingleFlight<String, Boolean> usernameLookups;
+
+    @PostConstruct
+    void init() {
+        usernameLookups = new SingleFlight<>("registration", "exists_by_username", meterRegistry);
+    }
+
+    // 대부분의 "사용 가능" 판정은 Bloom filter에서, 확인된 "사용 중"은 LRU에서 끝나고 나머지만 DB 조회
     public boolean isUsernameTaken(String username) {
-        return userRepository.existsByUsername(username);
+        long started = System.nanoTime();
+        try {
+            if (usernameIndex.isDefinitelyAvailable(username)) {
+                return false;
+            }
+            if (usernameIndex.isKnownTaken(username) || registrationJournal.isPending(username)) {
+                return true;
+            }
+            boolean taken = usernameLookups.execute(Usernames.key(username),
+                    () -> userRepository.existsByUsername(username));
+            if (taken) {
+                usernameIndex.markTaken(username);
+            }
+            return taken;
+        } finally {
+            registrationMetrics.recordStage(RegistrationMetrics.Stage.USERNAME_CHECK, System.nanoTime() - started);
+        }
+    }
+
+    // DB 왕복 1회: 이미 사용 중으로 확인된 username만 메모리에서 거르고, 나머지는 UNIQUE 제약에 맡김
+    public SaveResult registerUser(User user) {
+        if (usernameIndex.isKnownTaken(user.getUsername())) {
+            return SaveResult.DUPLICATE;
+        }
+        if (registrationJournal.isEnabled() && isTakenBeforeJournal(user.getUsername())) {
+            return SaveResult.DUPLICATE;
+        }
+
+        // 평문 대신 bcrypt 해시 저장 (해싱은 PasswordHasher 워커 풀에서 수행)
+        long started = System.nanoTime();
+        user.setPassword(passwordHasher.hash(user.getPassword()));
+        long hashed = System.nanoTime();
+        registrationMetrics.recordStage(RegistrationMetrics.Stage.PASSWORD_HASH, hashed - started);
+
+        SaveResult result;
+        if (registrationJournal.isEnabled()) {
+            result = registrationJournal.append(user);
+        } else if (registrationBatcher.isEnabled()) {
+            result = registrationBatcher.submit(user);
+        } else {
+            result = userRepository.save(user);
+        }
+        registrationMetrics.recordStage(RegistrationMetrics.Stage.SAVE, System.nanoTime() - hashed);
+        // UNKNOWN은 저장됐을 수 있으므로 "확실히 없음" 판정에서 빠지도록 Bloom filter에 넣음
+        if (result == SaveResult.CREATED || result == SaveResult.UNKNOWN) {
+            usernameIndex.add(user.getUsername());
+        } else if (result == SaveResult.DUPLICATE) {
+            usernameIndex.markTaken(user.getUsername());
+        }
+        return result;
+    }
+
+    // 이 파드 journal에 아직 남아 있으면 DB를 보지 않고 대기 중
+    public RegistrationStatus findRegistrationStatus(String username, String email) {
+        if (registrationJournal.isPending(username)) {
+            return RegistrationStatus.PENDING;
+        }
+        return userRepository.findRegistrationStatus(username, email);
     }
 
-    public void registerUser(User user) {
-        userRepository.save(user);
+    // write-behind 모드에서 202로 접수했다가 replay 때 중복으로 버려지는 일을 줄이기 위해 미리 확인
+    // DB 장애 중이면 확인을 건너뛰고 접수 (중복은 replay 시 username 기준으로 걸러짐)
+    private boolean isTakenBeforeJournal(String username) {
+        try {
+            return isUsernameTaken(username);
+        } catch (DatabaseUnavailableException e) {
+            return false;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package shop.ljhun.userregistration.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import shop.ljhun.userregistration.model.Usernames;
+import shop.ljhun.userregistration.repository.UsernameSource;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 가입된 username의 메모리 인덱스
+// - Bloom filter: "확실히 없는" username은 DB 조회 없이 바로 판정
+// - LRU: DB에서 "있음"이 확인된 username을 기억해 반복 조회를 막음
+// 다른 파드에서 가입한 row는 USERNAME_INDEX_SYNC_MS 주기로 id 기준 증분 동기화
+// - AUTO_INCREMENT id는 커밋 순서와 다를 수 있으므로(동시 INSERT, saveAll 배치) 마지막 id 아래 USERNAME_INDEX_RESCAN_IDS 구간을 매번 다시 읽음
+// - 그 구간보다 늦게 커밋된 row나 standby 전환 후 id가 달라진 경우는 USERNAME_INDEX_REBUILD_MS 주기의 전체 재구성으로 복구
+@Component
+public class UsernameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameIndex.class);
+
+    private static final int SYNC_PAGE_SIZE = 10_000;
+
+    // servlet: UserRepository(JDBC), reactive: ReactiveUserRepository(R2DBC)
+    @Autowired
+    private UsernameSource usernameSource;
+
+    @Value("${USERNAME_INDEX_EXPECTED_USERS:1000000}")
+    private long expectedUsers;
+
+    @Value("${USERNAME_INDEX_FPP:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${USERNAME_INDEX_CACHE_SIZE:100000}")
+    private int cacheSize;
+
+    @Value("${USERNAME_INDEX_RESCAN_IDS:5000}")
+    private long rescanIds;
+
+    @Value("${USERNAME_INDEX_REBUILD_MS:3600000}")
+    private long rebuildIntervalMs;
+
+    private volatile BloomFilter bloomFilter;
+    // 전체 재구성 중인 새 filter (재구성 중 가입한 username은 양쪽에 넣음)
+    private volatile BloomFilter rebuilding;
+    private long lastRebuildMillis;
+    private Map<String, Boolean> confirmedTaken;
+    private final ReentrantLock confirmedTakenLock = new ReentrantLock();
+
+    // 최초 전체 로딩이 끝나기 전에는 Bloom filter의 "없음" 판정을 신뢰하지 않음
+    private volatile boolean loaded;
+    private volatile long lastSyncedId;
+
+    @PostConstruct
+    void init() {
+        bloomFilter = new BloomFilter(expectedUsers, falsePositiveRate);
+        confirmedTaken = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public boolean isDefinitelyAvailable(String username) {
+        return loaded && !bloomFilter.mightContain(key(username));
+    }
+
+    public boolean isKnownTaken(String username) {
+        confirmedTakenLock.lock();
+        try {
+            return confirmedTaken.containsKey(key(username));
+        } finally {
+            confirmedTakenLock.unlock();
+        }
+    }
+
+    // 새로 INSERT 한 username 반영
+    public void add(String username) {
+        put(key(username));
+    }
+
+    // DB에서 존재가 확인된 username 반영
+    public void markTaken(String username) {
+        String key = key(username);
+        put(key);
+        confirmedTakenLock.lock();
+        try {
+            confirmedTaken.put(key, Boolean.TRUE);
+        } finally {
+            confirmedTakenLock.unlock();
+        }
+    }
+
+    // 재구성이 끝나 filter가 바뀐 직후에 들어온 값도 새 filter에 남도록 교체 여부를 다시 확인
+    private void put(String key) {
+        BloomFilter current = bloomFilter;
+        current.put(key);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(key);
+        }
+        if (bloomFilter != current) {
+            bloomFilter.put(key);
+        }
+    }
+
+    // 첫 실행과 USERNAME_INDEX_REBUILD_MS마다 전체 로딩, 그 사이는 (마지막 id - USERNAME_INDEX_RESCAN_IDS) 이후 row만 읽는 증분 동기화
+    @Scheduled(fixedDelayString = "${USERNAME_INDEX_SYNC_MS:5000}")
+    public void sync() {
+        if (!loaded || System.currentTimeMillis() - lastRebuildMillis >= rebuildIntervalMs) {
+            rebuild();
+            return;
+        }
+        long last = lastSyncedId;
+        try {
+            lastSyncedId = load(bloomFilter, Math.max(0, last - rescanIds));
+        } catch (SQLException e) {
+            log.warn("Username index sync after id {} failed: {}", last, e.getMessage());
+        }
+    }
+
+    // 새 filter를 처음부터 채운 뒤 교체 (채우는 동안에는 기존 filter로 판정)
+    private void rebuild() {
+        BloomFilter next = new BloomFilter(expectedUsers, falsePositiveRate);
+        rebuilding = next;
+        try {
+            long last = load(next, 0);
+            bloomFilter = next;
+            lastSyncedId = last;
+            lastRebuildMillis = System.currentTimeMillis();
+            if (!loaded) {
+                loaded = true;
+                log.info("Username index loaded up to id {}", last);
+            }
+        } catch (SQLException e) {
+            log.warn("Username index rebuild failed: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    // id > afterId 인 row를 모두 filter에 넣고 마지막 id를 반환
+    private long load(BloomFilter filter, long afterId) throws SQLException {
+        long last = afterId;
+        while (true) {
+            long next = usernameSource.forEachUsernameAfter(last, SYNC_PAGE_SIZE, name -> filter.put(key(name)));
+            if (next == last) {
+                return last;
+            }
+            last = next;
+        }
+    }
+
+    private static String key(String username) {
+        return Usernames.key(username);
+    }
+}
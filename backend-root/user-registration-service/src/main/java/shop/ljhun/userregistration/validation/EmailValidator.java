@@ -0,0 +1,91 @@
+package shop.ljhun.userregistration.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// 허용 형태
+// - local: RFC 5322 atext 문자, 비ASCII 문자, '.'(처음/끝/연속 불가), 64자 이하 (따옴표로 감싼 local part는 받지 않음)
+// - domain: '.'으로 나뉜 label, label은 영문/숫자/'-'(처음/끝 불가) 또는 비ASCII 문자(IDN), 63자 이하
+public class EmailValidator implements ConstraintValidator<ValidEmail, String> {
+
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private int max;
+
+    @Override
+    public void initialize(ValidEmail annotation) {
+        this.max = annotation.max();
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || isValid(value, max);
+    }
+
+    // null은 @NotBlank에서 처리
+    static boolean isValid(String value, int max) {
+        int length = value.length();
+        if (length > max) {
+            return false;
+        }
+
+        int at = -1;
+        int segmentStart = 0;
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (at < 0) {
+                if (c == '@') {
+                    if (i == 0 || i > MAX_LOCAL_LENGTH || previous == '.') {
+                        return false;
+                    }
+                    at = i;
+                    segmentStart = i + 1;
+                } else if (c == '.') {
+                    if (i == 0 || previous == '.') {
+                        return false;
+                    }
+                } else if (!isAtext(c)) {
+                    return false;
+                }
+            } else if (c == '.') {
+                if (!isLabelEnd(i, segmentStart, previous)) {
+                    return false;
+                }
+                segmentStart = i + 1;
+            } else if (c == '-') {
+                if (i == segmentStart) {
+                    return false;
+                }
+            } else if (!isLabelChar(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        return at > 0 && isLabelEnd(length, segmentStart, previous);
+    }
+
+    private static boolean isLabelEnd(int end, int segmentStart, char last) {
+        int labelLength = end - segmentStart;
+        return labelLength > 0 && labelLength <= MAX_LABEL_LENGTH && last != '-';
+    }
+
+    private static boolean isLabelChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || (c >= 0x80 && Character.isLetterOrDigit(c));
+    }
+
+    private static boolean isAtext(char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c >= 0x80) {
+            return true;
+        }
+        switch (c) {
+            case '!': case '#': case '$': case '%': case '&': case '\'': case '*': case '+': case '-':
+            case '/': case '=': case '?': case '^': case '_': case '`': case '{': case '|': case '}': case '~':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package shop.ljhun.userregistration.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// 할당 없이 char 배열을 한 번만 훑음 (lookahead 3개짜리 정규식은 입력을 여러 번 다시 읽음)
+public class PasswordValidator implements ConstraintValidator<ValidPassword, String> {
+
+    private int min;
+    private int maxBytes;
+
+    @Override
+    public void initialize(ValidPassword annotation) {
+        this.min = annotation.min();
+        this.maxBytes = annotation.maxBytes();
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || isValid(value, min, maxBytes);
+    }
+
+    // null은 @NotBlank에서 처리
+    static boolean isValid(String value, int min, int maxBytes) {
+        int length = value.length();
+        // UTF-8에서 char 하나는 최소 1바이트이므로 char 수가 상한을 넘으면 순회 없이 바로 거절
+        if (length > maxBytes) {
+            return false;
+        }
+
+        boolean lower = false;
+        boolean digit = false;
+        boolean special = false;
+        int codePoints = 0;
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800 || Character.isSurrogate(c)) {
+                bytes += 2; // surrogate pair 하나는 4바이트
+            } else {
+                bytes += 3;
+            }
+            if (!Character.isLowSurrogate(c)) {
+                codePoints++;
+            }
+
+            if (c >= 'a' && c <= 'z') {
+                lower = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (isSpecial(c)) {
+                special = true;
+            } else if (isLineTerminator(c)) {
+                // 정규식의 '.'은 줄바꿈 문자와 매칭되지 않았음
+                return false;
+            }
+        }
+        return bytes <= maxBytes && codePoints >= min && lower && digit && special;
+    }
+
+    private static boolean isSpecial(char c) {
+        switch (c) {
+            case '!': case '@': case '#': case '$': case '%': case '^': case '&':
+            case '*': case '(': case ')': case '_': case '+': case '=': case '-':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -0,0 +1,91 @@
+package shop.ljhun.userregistration.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import shop.ljhun.userregistration.model.User;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+// 정상적인 가입 요청은 수백 바이트이므로, 큰 본문은 JSON 파싱/바인딩 전에 잘라냄
+// Content-Length가 있으면 읽기 전에 거절하고, chunked 요청은 상한까지만 읽고 거절
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestBodyLimitAdvice extends RequestBodyAdviceAdapter {
+
+    private final long maxBytes;
+
+    public RequestBodyLimitAdvice(@Value("${REGISTRATION_MAX_BODY_BYTES:4096}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == User.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        if (inputMessage.getHeaders().getContentLength() > maxBytes) {
+            throw new RequestBodyTooLargeException(maxBytes);
+        }
+        InputStream limited = new LimitedInputStream(inputMessage.getBody(), maxBytes);
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return limited;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        };
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            read += n;
+            if (read > maxBytes) {
+                throw new RequestBodyTooLargeException(maxBytes);
+            }
+        }
+    }
+}
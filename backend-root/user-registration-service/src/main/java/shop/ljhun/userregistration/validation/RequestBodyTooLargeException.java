@@ -0,0 +1,9 @@
+package shop.ljhun.userregistration.validation;
+
+// 가입 요청 본문이 REGISTRATION_MAX_BODY_BYTES를 넘은 경우 (컨트롤러에서 413으로 응답)
+public class RequestBodyTooLargeException extends RuntimeException {
+
+    public RequestBodyTooLargeException(long limit) {
+        super("Request body exceeds " + limit + " bytes");
+    }
+}
@@ -0,0 +1,23 @@
+package shop.ljhun.userregistration.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+// local@domain 형태를 문자열 한 번 순회로 검사 (@Email의 정규식 + IDN 변환 대신)
+@Documented
+@Constraint(validatedBy = EmailValidator.class)
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidEmail {
+
+    String message();
+
+    // users.email 컬럼 크기
+    int max() default 100;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
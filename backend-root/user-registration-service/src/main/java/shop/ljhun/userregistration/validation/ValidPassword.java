@@ -0,0 +1,27 @@
+package shop.ljhun.userregistration.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+// 비밀번호 규칙(길이, 소문자/숫자/특수문자 포함)을 문자열 한 번 순회로 검사
+// 이전 @Pattern("^(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+=-]).{8,}$")과 같은 입력을 통과시키고, 상한(maxBytes)만 추가됨
+@Documented
+@Constraint(validatedBy = PasswordValidator.class)
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidPassword {
+
+    String message();
+
+    // 최소 길이 (문자 수, 정규식의 .{8,}와 같은 기준)
+    int min() default 8;
+
+    // bcrypt는 앞 72바이트만 사용하므로 그 이상은 받지 않음 (UTF-8 기준)
+    int maxBytes() default 72;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
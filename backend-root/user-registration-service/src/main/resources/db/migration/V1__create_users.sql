@@ -0,0 +1,20 @@
+-- 기존 db-init job이 만들던 스키마 그대로 (이미 만들어진 DB에서는 아무것도 바꾸지 않고 이력만 남음)
+-- db-init은 username UNIQUE 키 없이 만들었으므로 여기서도 만들지 않음: 중복 정리 후 V4에서 모든 DB에 같은 방식으로 추가
+-- 컬럼 크기
+-- - username: 가입 검증 @Size(max = 50)
+-- - password: bcrypt 해시 60자, 재해싱 전 평문 row는 72바이트 이하 (@ValidPassword)
+-- - email: @ValidEmail(max = 100)
+CREATE TABLE IF NOT EXISTS users (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL
+);
+
+-- 로그인 서비스 ReplicaRouter의 복제 지연 측정용 (id = 1 한 row만 사용)
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id TINYINT PRIMARY KEY,
+    ts BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO replication_heartbeat (id, ts) VALUES (1, 0);
@@ -0,0 +1,9 @@
+-- write-behind 모드(REGISTRATION_WRITE_BEHIND=true)에서 202로 접수했지만 DB 반영 시 다른 가입이 username을 먼저 차지해 거절된 요청
+-- 가입 서비스 GET /app-one/register/status 가 username + email로 결과를 알려 줄 때 사용 (JournalReplayer가 기록)
+CREATE TABLE IF NOT EXISTS registration_rejections (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    rejected_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_registration_rejections_username_email (username, email)
+);
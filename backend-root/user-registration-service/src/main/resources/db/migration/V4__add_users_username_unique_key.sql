@@ -0,0 +1,22 @@
+-- users.username UNIQUE 키 (가입 중복 판정은 INSERT 시 1062 오류에 의존)
+-- 키가 없던 동안 같은 username으로 여러 row가 들어갔을 수 있으므로 먼저 정리:
+-- 가장 먼저 가입한 row(id 최소)만 남기고 나머지는 users_duplicate_usernames로 옮긴 뒤 삭제 (운영자가 확인 후 연락/복구)
+-- username 비교는 컬럼 collation 기준(UNIQUE 키와 같은 기준)
+CREATE TABLE users_duplicate_usernames (
+    id INT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    removed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO users_duplicate_usernames (id, username, password, email)
+SELECT DISTINCT d.id, d.username, d.password, d.email
+FROM users d
+JOIN users k ON k.username = d.username AND k.id < d.id;
+
+-- MySQL은 DELETE 대상 테이블을 서브쿼리에서 직접 읽을 수 없으므로(1093) DISTINCT로 먼저 materialize한 id 목록 사용
+DELETE FROM users
+WHERE id IN (SELECT id FROM (SELECT DISTINCT d.id FROM users d JOIN users k ON k.username = d.username AND k.id < d.id) duplicate_ids);
+
+ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
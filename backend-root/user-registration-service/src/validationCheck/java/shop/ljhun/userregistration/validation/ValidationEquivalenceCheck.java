@@ -0,0 +1,144 @@
+package shop.ljhun.userregistration.validation;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import shop.ljhun.userregistration.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 손으로 짠 PasswordValidator / EmailValidator가 이전 제약(@Pattern 정규식, Hibernate Validator의 @Email)과 같은 판정을 하는지 표로 비교
+// 두 쪽 모두 같은 Hibernate Validator로 실행: 새 규칙은 User의 필드, 이전 규칙은 LegacyUser(이전 User의 필드 선언 그대로)
+// difference가 있는 줄은 의도한 차이: 이전 규칙과 반대 판정이어야 하고, 없는 줄은 두 규칙의 판정이 같아야 함
+public class ValidationEquivalenceCheck {
+
+    // 72바이트 상한 확인용: ASCII 70자 + 숫자 + 특수문자 = 72바이트
+    private static final String PASSWORD_72_BYTES = "a".repeat(70) + "1!";
+    // 한글 24자(72바이트) + 3바이트: 27자라 이전 정규식은 통과
+    private static final String PASSWORD_MULTIBYTE_OVER_72 = "가나다라마바사아자차카타파하가나다라마바사아자차" + "a1!";
+
+    record Case(String field, String value, boolean accepted, String difference) {
+    }
+
+    // 이전 User (dc17585 이전)의 password / email 선언
+    static class LegacyUser {
+
+        @Pattern(regexp = "^(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+=-]).{8,}$")
+        String password;
+
+        @Email
+        String email;
+    }
+
+    public static void main(String[] args) {
+        List<Case> cases = new ArrayList<>();
+
+        password(cases, "abcdefg1!", true);
+        password(cases, "abcdef1!", true);
+        password(cases, "abcde1!", false);
+        password(cases, "ABCDEFG1!", false);
+        password(cases, "abcdefgh!", false);
+        password(cases, "abcdefgh1", false);
+        password(cases, "abcdefg1~", false);
+        password(cases, "abcdefg1-", true);
+        password(cases, "abc def1!", true);
+        password(cases, "비밀번호abcd1!", true);
+        // 보조 문자(이모지)도 정규식의 '.' 하나, 검사기의 code point 하나로 셈
+        password(cases, "abcd1!\uD83D\uDE00\uD83D\uDE00", true);
+        password(cases, "abcdefg1!\n", false);
+        password(cases, "abcdefg1!\r", false);
+        password(cases, "abcd\u2028efg1!", false);
+        password(cases, PASSWORD_72_BYTES, true);
+        cases.add(new Case("password", PASSWORD_72_BYTES + "a", false,
+                "bcrypt uses only the first 72 bytes, longer passwords are rejected"));
+        cases.add(new Case("password", PASSWORD_MULTIBYTE_OVER_72, false,
+                "the 72-byte cap counts UTF-8 bytes, not characters"));
+
+        email(cases, "user@example.com", true);
+        email(cases, "USER@EXAMPLE.COM", true);
+        email(cases, "first.last+tag@sub.example.co.kr", true);
+        email(cases, "o'reilly@example.com", true);
+        email(cases, "a@b", true);
+        email(cases, "user@my-domain.com", true);
+        email(cases, "user@xn--bcher-kva.example", true);
+        email(cases, "user@bücher.example", true);
+        email(cases, "사용자@example.com", true);
+        email(cases, "a".repeat(64) + "@example.com", true);
+        email(cases, "u@" + "a".repeat(63) + ".com", true);
+        email(cases, "plainaddress", false);
+        email(cases, "@example.com", false);
+        email(cases, "user@", false);
+        email(cases, ".user@example.com", false);
+        email(cases, "user.@example.com", false);
+        email(cases, "us..er@example.com", false);
+        email(cases, "user@example..com", false);
+        email(cases, "user@example.com.", false);
+        email(cases, "user@-example.com", false);
+        email(cases, "user@example-.com", false);
+        email(cases, "user name@example.com", false);
+        email(cases, "user@exam ple.com", false);
+        email(cases, "user@@example.com", false);
+        email(cases, "a".repeat(65) + "@example.com", false);
+        email(cases, "u@" + "a".repeat(64) + ".com", false);
+        email(cases, "user@example.com\n", false);
+        cases.add(new Case("email", "\"john doe\"@example.com", false,
+                "quoted local parts are not accepted"));
+        cases.add(new Case("email", "user@[127.0.0.1]", false,
+                "IP address literals are not accepted as the domain"));
+        cases.add(new Case("email", "user@exa!mple.com", false,
+                "domain labels allow only letters, digits and '-', not atext symbols"));
+        cases.add(new Case("email", "a".repeat(64) + "@" + "b".repeat(40) + ".example.com", false,
+                "longer than the users.email column (100), previously failed at INSERT"));
+
+        List<String> failures = new ArrayList<>();
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            for (Case c : cases) {
+                boolean current = validator.validateValue(User.class, c.field(), c.value()).isEmpty();
+                boolean legacy = validator.validateValue(LegacyUser.class, c.field(), c.value()).isEmpty();
+                boolean expectedLegacy = c.difference() == null ? c.accepted() : !c.accepted();
+                boolean ok = current == c.accepted() && legacy == expectedLegacy;
+                System.out.printf("[%s] %s %s: current=%s legacy=%s%s%n", ok ? "OK" : "MISMATCH", c.field(),
+                        printable(c.value()), verdict(current), verdict(legacy),
+                        c.difference() == null ? "" : " (intentional: " + c.difference() + ")");
+                if (!ok) {
+                    failures.add(c.field() + " " + printable(c.value()) + ": expected current=" + verdict(c.accepted())
+                            + " legacy=" + verdict(expectedLegacy) + " but was current=" + verdict(current)
+                            + " legacy=" + verdict(legacy));
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Validation equivalence check failed:\n- " + String.join("\n- ", failures));
+        }
+    }
+
+    private static void password(List<Case> cases, String value, boolean accepted) {
+        cases.add(new Case("password", value, accepted, null));
+    }
+
+    private static void email(List<Case> cases, String value, boolean accepted) {
+        cases.add(new Case("email", value, accepted, null));
+    }
+
+    private static String verdict(boolean accepted) {
+        return accepted ? "accept" : "reject";
+    }
+
+    private static String printable(String value) {
+        StringBuilder out = new StringBuilder("'");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == 0x85 || c == 0x2028 || c == 0x2029) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append("'").toString();
+    }
+}
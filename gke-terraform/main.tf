@@ -124,6 +124,8 @@ module "k8s_deploy" {
   db_password   = var.db_password
   db_name       = var.db_name
 
+  auth_token_keys = var.auth_token_keys
+
   domain_name   = var.domain_name
   app_one_image = var.app_one_image
   app_two_image = var.app_two_image
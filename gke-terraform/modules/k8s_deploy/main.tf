@@ -1,10 +1,13 @@
-resource "kubernetes_deployment" "app_one" {
+# 가입 서비스는 write-behind journal(REGISTRATION_WRITE_BEHIND)을 파드별 PersistentVolume에 두므로 StatefulSet으로 배포
+# (파드가 재시작돼도 같은 볼륨을 다시 붙여서 DB에 아직 반영하지 못한 가입 요청을 이어서 반영)
+resource "kubernetes_stateful_set" "app_one" {
   metadata {
     name      = "app-one"
     namespace = "default"
   }
   spec {
-    replicas = 2
+    replicas     = 2
+    service_name = "app-one-service"
     selector {
       match_labels = {
         app = "app-one"
@@ -15,6 +18,12 @@ resource "kubernetes_deployment" "app_one" {
         labels = {
           app = "app-one"
         }
+        # Prometheus가 /actuator/prometheus 를 수집 (헬스 체크 경로 /healthz 와 분리)
+        annotations = {
+          "prometheus.io/scrape" = "true"
+          "prometheus.io/path"   = "/actuator/prometheus"
+          "prometheus.io/port"   = "8080"
+        }
       }
       spec {
         image_pull_secrets {
@@ -43,6 +52,27 @@ resource "kubernetes_deployment" "app_one" {
             name  = "DB_NAME"
             value = var.db_name
           }
+          env {
+            name  = "PASSWORD_HASH_COST"
+            value = "10"   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 로그인 때마다 서로의 해시를 재해싱)
+          }
+          env {
+            name  = "AUTH_TOKEN_KEYS"
+            value = var.auth_token_keys   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 다른 쪽에서 발급한 토큰을 검증하지 못함)
+          }
+          env {
+            name  = "REGISTRATION_WRITE_BEHIND"
+            value = "false"   # DB 장애 대비 write-behind 모드를 쓸 때 "true"
+          }
+          env {
+            name  = "REGISTRATION_JOURNAL_DIR"
+            value = "/var/lib/registration-journal"
+          }
+
+          volume_mount {
+            name       = "registration-journal"
+            mount_path = "/var/lib/registration-journal"
+          }
 
           # Health Check 설정
           liveness_probe {
@@ -56,7 +86,7 @@ resource "kubernetes_deployment" "app_one" {
 
           readiness_probe {
             http_get {
-              path = "/healthz"
+              path = "/readyz"
               port = 8080
             }
             initial_delay_seconds = 5
@@ -65,6 +95,20 @@ resource "kubernetes_deployment" "app_one" {
         }
       }
     }
+
+    volume_claim_template {
+      metadata {
+        name = "registration-journal"
+      }
+      spec {
+        access_modes = ["ReadWriteOnce"]
+        resources {
+          requests = {
+            storage = "1Gi"
+          }
+        }
+      }
+    }
   }
 }
 
@@ -85,6 +129,12 @@ resource "kubernetes_deployment" "app_two" {
         labels = {
           app = "app-two"
         }
+        # Prometheus가 /actuator/prometheus 를 수집 (헬스 체크 경로 /healthz 와 분리)
+        annotations = {
+          "prometheus.io/scrape" = "true"
+          "prometheus.io/path"   = "/actuator/prometheus"
+          "prometheus.io/port"   = "8080"
+        }
       }
       spec {
         image_pull_secrets {
@@ -113,6 +163,14 @@ resource "kubernetes_deployment" "app_two" {
             name  = "DB_NAME"
             value = var.db_name
           }
+          env {
+            name  = "PASSWORD_HASH_COST"
+            value = "10"   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 로그인 때마다 서로의 해시를 재해싱)
+          }
+          env {
+            name  = "AUTH_TOKEN_KEYS"
+            value = var.auth_token_keys   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 다른 쪽에서 발급한 토큰을 검증하지 못함)
+          }
 
           # Health Check 설정
           liveness_probe {
@@ -126,7 +184,7 @@ resource "kubernetes_deployment" "app_two" {
 
           readiness_probe {
             http_get {
-              path = "/healthz"
+              path = "/readyz"
               port = 8080
             }
             initial_delay_seconds = 5
@@ -138,6 +196,21 @@ resource "kubernetes_deployment" "app_two" {
   }
 }
 
+# 스키마는 서비스 소스(db/migration)에 버전별 SQL로 관리, db-init job이 Flyway로 적용 (두 서비스의 migration은 같은 내용)
+locals {
+  db_migration_dir = "${path.module}/../../../backend-root/user-registration-service/src/main/resources/db/migration"
+}
+
+resource "kubernetes_config_map" "db_migrations" {
+  metadata {
+    name      = "db-migrations"
+    namespace = "default"
+  }
+  data = {
+    for name in fileset(local.db_migration_dir, "*.sql") : name => file("${local.db_migration_dir}/${name}")
+  }
+}
+
 resource "kubernetes_job" "db_init_job" {
   metadata {
     name      = "db-init-job"
@@ -155,22 +228,47 @@ resource "kubernetes_job" "db_init_job" {
         restart_policy = "Never"
         container {
           name  = "db-init-container"
-          image = "mysql:8.0"
-          command = [
-            "sh", "-c",
-            <<EOT
-              mysql -h ${var.db_endpoint} -u root -p${var.db_password} -e "
-              CREATE DATABASE IF NOT EXISTS ${var.db_name};
-              USE ${var.db_name};
-              CREATE TABLE IF NOT EXISTS users (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                username VARCHAR(50) NOT NULL,
-                password VARCHAR(100) NOT NULL,
-                email VARCHAR(100) NOT NULL
-              );
-              "
-            EOT
-          ]
+          # 서비스 소스의 db/migration을 Flyway로 적용 (이력 없는 기존 DB는 version 0으로 baseline 후 V1부터)
+          image = "flyway/flyway:10"
+          args  = ["migrate"]
+          env {
+            name  = "FLYWAY_URL"
+            value = "jdbc:mysql://${var.db_endpoint}:3306/"
+          }
+          env {
+            name  = "FLYWAY_USER"
+            value = "root"
+          }
+          env {
+            name  = "FLYWAY_PASSWORD"
+            value = var.db_password
+          }
+          env {
+            name  = "FLYWAY_SCHEMAS"
+            value = var.db_name
+          }
+          env {
+            name  = "FLYWAY_LOCATIONS"
+            value = "filesystem:/flyway/sql"
+          }
+          env {
+            name  = "FLYWAY_BASELINE_ON_MIGRATE"
+            value = "true"
+          }
+          env {
+            name  = "FLYWAY_BASELINE_VERSION"
+            value = "0"
+          }
+          volume_mount {
+            name       = "db-migrations"
+            mount_path = "/flyway/sql"
+          }
+        }
+        volume {
+          name = "db-migrations"
+          config_map {
+            name = kubernetes_config_map.db_migrations.metadata[0].name
+          }
         }
       }
     }
@@ -221,7 +319,7 @@ resource "kubernetes_service" "app_two_service" {
 resource "null_resource" "install_cert_manager" {
 
   depends_on = [
-    kubernetes_deployment.app_one,
+    kubernetes_stateful_set.app_one,
     kubernetes_deployment.app_two,
     kubernetes_job.db_init_job,
     kubernetes_service.app_one_service,
@@ -55,4 +55,10 @@ variable "app_one_image" {
 variable "app_two_image" {
   type        = string
   default     = "gcr.io/my-project/user-login-service:latest"
-}
\ No newline at end of file
+}
+
+variable "auth_token_keys" {
+  type        = string
+  sensitive   = true
+  description = "토큰 서명 키 AUTH_TOKEN_KEYS (\"kid:base64키,...\"), AWS/GCP 양쪽에 같은 값을 넘겨야 함"
+}
@@ -42,6 +42,7 @@ cd modules/alb_ingress && terraform apply -auto-approve \
   -var "alb_security_group_id=${module.network.alb_security_group_id}" \
   -var "db_endpoint=${module.network.db_endpoint}" \
   -var "db_password=${module.network.db_password}" \
+  -var "auth_token_keys=${var.auth_token_keys}" \
   && \
 
 # ALB 생성 대기
@@ -23,14 +23,17 @@ provider "kubernetes" {
   }
 }
 
-resource "kubernetes_deployment" "app_one" {
+# 가입 서비스는 write-behind journal(REGISTRATION_WRITE_BEHIND)을 파드별 PersistentVolume에 두므로 StatefulSet으로 배포
+# (파드가 재시작돼도 같은 볼륨을 다시 붙여서 DB에 아직 반영하지 못한 가입 요청을 이어서 반영)
+resource "kubernetes_stateful_set" "app_one" {
   metadata {
     name      = "app-one"
     namespace = "default"
   }
 
   spec {
-    replicas = 2
+    replicas     = 2
+    service_name = "app-one-service"
 
     selector {
       match_labels = {
@@ -43,6 +46,12 @@ resource "kubernetes_deployment" "app_one" {
         labels = {
           app = "app-one"
         }
+        # Prometheus가 /actuator/prometheus 를 수집 (헬스 체크 경로 /healthz 와 분리)
+        annotations = {
+          "prometheus.io/scrape" = "true"
+          "prometheus.io/path"   = "/actuator/prometheus"
+          "prometheus.io/port"   = "8080"
+        }
       }
 
       spec {
@@ -69,6 +78,27 @@ resource "kubernetes_deployment" "app_one" {
             name  = "DB_NAME"
             value = "mydb"        # aws_db_instance.mydb.db_name에 맞춤
           }
+          env {
+            name  = "PASSWORD_HASH_COST"
+            value = "10"   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 로그인 때마다 서로의 해시를 재해싱)
+          }
+          env {
+            name  = "AUTH_TOKEN_KEYS"
+            value = var.auth_token_keys   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 다른 쪽에서 발급한 토큰을 검증하지 못함)
+          }
+          env {
+            name  = "REGISTRATION_WRITE_BEHIND"
+            value = "false"   # DB 장애 대비 write-behind 모드를 쓸 때 "true"
+          }
+          env {
+            name  = "REGISTRATION_JOURNAL_DIR"
+            value = "/var/lib/registration-journal"
+          }
+
+          volume_mount {
+            name       = "registration-journal"
+            mount_path = "/var/lib/registration-journal"
+          }
 
           # Health Check 설정
           # liveness_probe: k8s가 내부적으로 해당 deployment의 해당 path에 가서 해당 자원이 살아있는지를 검토
@@ -88,7 +118,7 @@ resource "kubernetes_deployment" "app_one" {
           # 실패 시, 해당 container는 성공할 때까지 ALB의 Target Group에서 제외됨.
           readiness_probe {
             http_get {
-              path = "/healthz"
+              path = "/readyz"
               port = 8080
             }
             initial_delay_seconds = 5
@@ -97,6 +127,20 @@ resource "kubernetes_deployment" "app_one" {
         }
       }
     }
+
+    volume_claim_template {
+      metadata {
+        name = "registration-journal"
+      }
+      spec {
+        access_modes = ["ReadWriteOnce"]
+        resources {
+          requests = {
+            storage = "1Gi"
+          }
+        }
+      }
+    }
   }
 }
 
@@ -121,6 +165,12 @@ resource "kubernetes_deployment" "app_two" {
         labels = {
           app = "app-two"
         }
+        # Prometheus가 /actuator/prometheus 를 수집 (헬스 체크 경로 /healthz 와 분리)
+        annotations = {
+          "prometheus.io/scrape" = "true"
+          "prometheus.io/path"   = "/actuator/prometheus"
+          "prometheus.io/port"   = "8080"
+        }
       }
 
       spec {
@@ -147,6 +197,14 @@ resource "kubernetes_deployment" "app_two" {
             name  = "DB_NAME"
             value = "mydb"        # aws_db_instance.mydb.db_name에 맞춤
           }
+          env {
+            name  = "PASSWORD_HASH_COST"
+            value = "10"   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 로그인 때마다 서로의 해시를 재해싱)
+          }
+          env {
+            name  = "AUTH_TOKEN_KEYS"
+            value = var.auth_token_keys   # 두 클라우드, 두 서비스 모두 같은 값 (다르면 다른 쪽에서 발급한 토큰을 검증하지 못함)
+          }
 
           # Health Check 설정
           liveness_probe {
@@ -160,7 +218,7 @@ resource "kubernetes_deployment" "app_two" {
 
           readiness_probe {
             http_get {
-              path = "/healthz"
+              path = "/readyz"
               port = 8080
             }
             initial_delay_seconds = 5
@@ -172,9 +230,26 @@ resource "kubernetes_deployment" "app_two" {
   }
 }
 
+# 스키마는 서비스 소스(db/migration)에 버전별 SQL로 관리, db-init job이 Flyway로 적용
+# 두 서비스의 db/migration은 같은 내용이므로 가입 서비스(users 테이블에 쓰는 쪽) 것을 사용
+locals {
+  db_migration_dir = "${path.module}/../../../backend-root/user-registration-service/src/main/resources/db/migration"
+}
+
+resource "kubernetes_config_map" "db_migrations" {
+  metadata {
+    name      = "db-migrations"
+    namespace = "default"
+  }
+
+  data = {
+    for name in fileset(local.db_migration_dir, "*.sql") : name => file("${local.db_migration_dir}/${name}")
+  }
+}
+
 resource "kubernetes_job" "db_init_job" {
   depends_on = [
-    kubernetes_deployment.app_one,
+    kubernetes_stateful_set.app_one,
     kubernetes_deployment.app_two
   ]
 
@@ -198,37 +273,58 @@ resource "kubernetes_job" "db_init_job" {
 
         container {
           name  = "db-init-container"
-          image = "mysql:8.0"  # 데이터베이스 초기화를 위한 MySQL 이미지 사용
-          command = [
-            "sh", "-c",
-            <<EOT
-              mysql -h ${var.db_endpoint} -u admin -p${var.db_password} -e "
-              CREATE DATABASE IF NOT EXISTS mydb;
-              USE mydb;
-              CREATE TABLE IF NOT EXISTS users (
-                id INT AUTO_INCREMENT PRIMARY KEY,
-                username VARCHAR(50) NOT NULL,
-                password VARCHAR(100) NOT NULL,
-                email VARCHAR(100) NOT NULL
-              );
-              "
-            EOT
-          ]
+          # 서비스 소스의 db/migration(V1__, V2__ ...)을 순서대로 적용하고 적용 이력은 flyway_schema_history에 남김
+          # 이력 없이 테이블만 있는 기존 DB는 version 0으로 baseline 후 V1부터 적용 (V1은 IF NOT EXISTS라 기존 테이블은 그대로)
+          image = "flyway/flyway:10"
+          args  = ["migrate"]
 
           env {
-            name  = "DB_HOST"
-            value = var.db_endpoint
+            name  = "FLYWAY_URL"
+            value = "jdbc:mysql://${var.db_endpoint}:3306/"
           }
 
           env {
-            name  = "DB_USER"
+            name  = "FLYWAY_USER"
             value = "admin"
           }
 
           env {
-            name  = "DB_PASSWORD"
+            name  = "FLYWAY_PASSWORD"
             value = var.db_password
           }
+
+          # 없으면 생성 (기존 CREATE DATABASE IF NOT EXISTS mydb)
+          env {
+            name  = "FLYWAY_SCHEMAS"
+            value = "mydb"
+          }
+
+          env {
+            name  = "FLYWAY_LOCATIONS"
+            value = "filesystem:/flyway/sql"
+          }
+
+          env {
+            name  = "FLYWAY_BASELINE_ON_MIGRATE"
+            value = "true"
+          }
+
+          env {
+            name  = "FLYWAY_BASELINE_VERSION"
+            value = "0"
+          }
+
+          volume_mount {
+            name       = "db-migrations"
+            mount_path = "/flyway/sql"
+          }
+        }
+
+        volume {
+          name = "db-migrations"
+          config_map {
+            name = kubernetes_config_map.db_migrations.metadata[0].name
+          }
         }
       }
     }
@@ -445,7 +541,7 @@ resource "kubernetes_manifest" "app_ingress" {
         "alb.ingress.kubernetes.io/certificate-arn" = "arn:aws:acm:ap-northeast-2:481665107235:certificate/d2e40628-5ff5-466a-a818-14b2d9b2475f"
         "alb.ingress.kubernetes.io/target-type"   = "ip"  # ip: svc를 거치지 않고 pod로 직접 라우팅, NodePort 사용 X, 이것으로 인한 svc 사용 X, 이것을 지정하면 CNI 플러그인 형식에 따라 POD의 IP가 노드 밖으로 나오므로, NodePort 사용이 안 되는 것임(즉, ALB가 svc를 거치지 않고도 POD로 직접 라우팅 가능, clusterIP의 PORT는 무시됨), instance: NodePort 사용, 즉, svc를 거침
         "alb.ingress.kubernetes.io/security-groups" = var.alb_security_group_id
-        "alb.ingress.kubernetes.io/healthcheck-path" = "/healthz"  # Health Check 경로 설정(이 경우, 모든 TG로, /healthz 경로로 헬스체크 트래픽을 전송. listener 정책이랑은 관련이 없음.)
+        "alb.ingress.kubernetes.io/healthcheck-path" = "/readyz"  # Health Check 경로 설정(이 경우, 모든 TG로, /readyz 경로로 헬스체크 트래픽을 전송. listener 정책이랑은 관련이 없음. DB에 붙지 못하는 파드는 제외됨)
         "alb.ingress.kubernetes.io/healthcheck-port" = "8080"  # Health Check 포트
         "alb.ingress.kubernetes.io/healthcheck-interval-seconds" = "30"  # Health Check 간격
         "alb.ingress.kubernetes.io/healthcheck-timeout-seconds" = "5"    # Health Check 타임아웃
@@ -14,4 +14,10 @@ variable "db_endpoint" {
 
 variable "db_password" {
   type = string
-}
\ No newline at end of file
+}
+
+variable "auth_token_keys" {
+  type        = string
+  sensitive   = true
+  description = "토큰 서명 키 AUTH_TOKEN_KEYS (\"kid:base64키,...\"), AWS/GCP 양쪽에 같은 값을 넘겨야 함"
+}
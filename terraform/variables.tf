@@ -1,4 +1,10 @@
 variable "cloudsql_password" {
   type = string
   default = "hi8857036"
-}
\ No newline at end of file
+}
+
+variable "auth_token_keys" {
+  type        = string
+  sensitive   = true
+  description = "토큰 서명 키 AUTH_TOKEN_KEYS (\"kid:base64키,...\"), AWS/GCP 양쪽에 같은 값을 넘겨야 함"
+}